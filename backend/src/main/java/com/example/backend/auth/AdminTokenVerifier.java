@@ -0,0 +1,30 @@
+package com.example.backend.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards operator endpoints that expose or act on data across all users. Callers pass the
+ * X-Admin-Token header; an empty configured token keeps those endpoints switched off.
+ */
+@Component
+public class AdminTokenVerifier {
+
+    private final byte[] adminToken;
+
+    public AdminTokenVerifier(@Value("${admin.token:}") String adminToken) {
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void check(String token) {
+        if (adminToken.length == 0 || token == null
+                || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin token required");
+        }
+    }
+}
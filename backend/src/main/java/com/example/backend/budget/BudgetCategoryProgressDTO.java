@@ -0,0 +1,10 @@
+package com.example.backend.budget;
+
+import java.math.BigDecimal;
+
+public record BudgetCategoryProgressDTO(
+        Long categoryId,
+        String categoryName,
+        BigDecimal spent,
+        BigDecimal delta
+) {}
@@ -0,0 +1,7 @@
+package com.example.backend.budget;
+
+public record BudgetCategoryRow(
+        Long budgetId,
+        Long categoryId,
+        String categoryName
+) {}
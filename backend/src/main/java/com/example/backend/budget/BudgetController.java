@@ -3,11 +3,14 @@ package com.example.backend.budget;
 import com.example.backend.category.AddCategoryRequest;
 import com.example.backend.category.CategorySpentDTO;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/budget")
@@ -23,8 +26,9 @@ public class BudgetController {
     }
 
     @GetMapping("/{id}")
-    public Budget getBudget(@PathVariable Long id) {
-        return budgetService.getBudget(id);
+    public BudgetDetailsDTO getBudget(@PathVariable Long id,
+                                      @RequestParam(required = false) Set<String> include) {
+        return budgetService.getBudget(id, include);
     }
 
     @DeleteMapping("/{id}")
@@ -67,6 +71,11 @@ public class BudgetController {
         return ResponseEntity.ok(totalSpent);
     }
 
+    @GetMapping(value = "/{budgetId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress(@PathVariable Long budgetId) {
+        return budgetService.streamProgress(budgetId);
+    }
+
     @PostMapping("/{budgetId}/invite")
     public ResponseEntity<Void> inviteMember(
             @PathVariable Long budgetId,
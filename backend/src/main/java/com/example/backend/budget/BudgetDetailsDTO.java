@@ -0,0 +1,24 @@
+package com.example.backend.budget;
+
+import com.example.backend.category.BudgetCategoryDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read model of one budget. Categories and members are null unless requested with
+ * {@code include}, and a category's transaction ids only with {@code include=transactions}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BudgetDetailsDTO(
+        Long id,
+        String name,
+        BigDecimal totalAmount,
+        boolean shared,
+        LocalDate startDate,
+        LocalDate endDate,
+        List<BudgetCategoryDTO> categories,
+        List<MemberDTO> members
+) {}
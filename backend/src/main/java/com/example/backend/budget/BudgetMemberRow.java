@@ -0,0 +1,8 @@
+package com.example.backend.budget;
+
+public record BudgetMemberRow(
+        Long budgetId,
+        Long userId,
+        String email,
+        String username
+) {}
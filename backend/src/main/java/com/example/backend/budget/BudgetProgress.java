@@ -0,0 +1,79 @@
+package com.example.backend.budget;
+
+import com.example.backend.category.CategorySpentDTO;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory running totals of one budget. Not thread-safe; BudgetProgressService only touches
+ * it while holding the budget's stripe lock.
+ */
+class BudgetProgress {
+
+    private static final class CategoryProgress {
+        private final String name;
+        private BigDecimal spent;
+        private long version;
+
+        private CategoryProgress(String name, BigDecimal spent, long version) {
+            this.name = name;
+            this.spent = spent;
+            this.version = version;
+        }
+    }
+
+    private final Map<Long, CategoryProgress> categories = new LinkedHashMap<>();
+
+    void put(Long categoryId, String name, BigDecimal spent, long version) {
+        categories.put(categoryId, new CategoryProgress(name, spent, version));
+    }
+
+    /**
+     * Takes the new total unless an equal or newer version is already held, so totals that
+     * arrive out of order never move the budget backwards. Returns the change, or null when
+     * nothing changed.
+     */
+    BudgetCategoryProgressDTO update(Long categoryId, BigDecimal spent, long version) {
+        CategoryProgress category = categories.get(categoryId);
+        if (category == null || version <= category.version) {
+            return null;
+        }
+        BigDecimal delta = spent.subtract(category.spent);
+        category.spent = spent;
+        category.version = version;
+        return new BudgetCategoryProgressDTO(categoryId, category.name, spent, delta);
+    }
+
+    boolean containsCategory(Long categoryId) {
+        return categories.containsKey(categoryId);
+    }
+
+    boolean isEmpty() {
+        return categories.isEmpty();
+    }
+
+    BigDecimal getTotalSpent() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CategoryProgress category : categories.values()) {
+            total = total.add(category.spent);
+        }
+        return total;
+    }
+
+    BudgetProgressDTO toDTO(Long budgetId) {
+        List<BudgetCategoryProgressDTO> progress = categories.entrySet().stream()
+                .map(entry -> new BudgetCategoryProgressDTO(
+                        entry.getKey(), entry.getValue().name, entry.getValue().spent, BigDecimal.ZERO))
+                .toList();
+        return new BudgetProgressDTO(budgetId, getTotalSpent(), progress);
+    }
+
+    List<CategorySpentDTO> getSpentByCategory() {
+        return categories.values().stream()
+                .map(category -> new CategorySpentDTO(category.name, category.spent))
+                .toList();
+    }
+}
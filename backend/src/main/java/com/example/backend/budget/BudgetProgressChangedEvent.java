@@ -0,0 +1,14 @@
+package com.example.backend.budget;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published after commit once a budget's in-memory totals have moved. Only the categories
+ * that changed are listed; the total is the budget's new total.
+ */
+public record BudgetProgressChangedEvent(
+        Long budgetId,
+        BigDecimal totalSpent,
+        List<BudgetCategoryProgressDTO> changes
+) {}
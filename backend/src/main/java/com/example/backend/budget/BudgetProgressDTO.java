@@ -0,0 +1,10 @@
+package com.example.backend.budget;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BudgetProgressDTO(
+        Long budgetId,
+        BigDecimal totalSpent,
+        List<BudgetCategoryProgressDTO> categories
+) {}
@@ -0,0 +1,8 @@
+package com.example.backend.budget;
+
+/**
+ * Published when a budget's in-memory totals were dropped, e.g. after its categories or
+ * members changed. Changes are not published for it until it is loaded again, so listeners
+ * holding earlier totals have to read them afresh.
+ */
+public record BudgetProgressInvalidatedEvent(Long budgetId) {}
@@ -0,0 +1,368 @@
+package com.example.backend.budget;
+
+import com.example.backend.category.CategorySpentDTO;
+import com.example.backend.transaction.TransactionChange;
+import com.example.backend.transaction.TransactionsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Running spend totals per budget and category, so the budget dashboards never aggregate
+ * tehingud on a read.
+ * <p>
+ * The totals live in eelarve_seisud and are updated by the same database transaction that
+ * changes tehingud. Every update bumps the row's version and returns the new total, which
+ * is copied into memory once the transaction commits; reads are served from memory and cost
+ * O(categories). Budgets are loaded on first read and computed from tehingud only when no
+ * snapshot exists yet or the budget's definition has changed since.
+ * <p>
+ * Snapshot computation takes the budget row FOR UPDATE and transaction writes take the
+ * budgets they touch FOR SHARE, so a write is either seen by the computation or applied to
+ * its result, never lost in between.
+ * <p>
+ * The stripe locks only guard memory: no database call is made while holding one, and none
+ * is taken while a database lock is held, since Postgres cannot see a wait on a monitor and
+ * would never break the resulting deadlock. Budgets are loaded outside the lock and cached
+ * only if nothing in their stripe was evicted or missed in the meantime.
+ */
+@Service
+public class BudgetProgressService {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final String LOCK_BUDGET_SQL = "SELECT id FROM eelarved WHERE id = ? FOR UPDATE";
+
+    private static final String LOCK_BUDGETS_OF_CATEGORIES_SQL = """
+            SELECT b.id FROM eelarved b
+            WHERE b.id IN (SELECT k.budget_id FROM eelarve_kategooriad k WHERE k.category_id = ANY(?))
+            ORDER BY b.id
+            FOR SHARE
+            """;
+
+    // Answered from idx_tehingud_category_date_amount. Rows of categories that left the budget
+    // are kept, so their version keeps counting up should the category come back.
+    private static final String COMPUTE_SNAPSHOT_SQL = """
+            INSERT INTO eelarve_seisud (budget_id, category_id, spent_amount, version, needs_rebuild, updated_at)
+            SELECT b.id, k.category_id, COALESCE(SUM(t.amount), 0), 0, FALSE, CURRENT_TIMESTAMP
+            FROM eelarved b
+            JOIN eelarve_kategooriad k ON k.budget_id = b.id
+            LEFT JOIN tehingud t ON t.category_id = k.category_id
+                AND (b.start_date IS NULL OR t.transaction_date >= b.start_date)
+                AND (b.end_date IS NULL OR t.transaction_date <= b.end_date)
+                AND t.user_id IN (SELECT l.user_id FROM eelarve_liikmed l WHERE l.budget_id = b.id)
+            WHERE b.id = ?
+            GROUP BY b.id, k.category_id
+            ON CONFLICT (budget_id, category_id) DO UPDATE
+            SET spent_amount = EXCLUDED.spent_amount,
+                version = eelarve_seisud.version + 1,
+                needs_rebuild = FALSE,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String LOAD_SNAPSHOT_SQL = """
+            SELECT k.category_id, c.name, s.spent_amount, s.version, s.needs_rebuild
+            FROM eelarve_kategooriad k
+            JOIN kategooriad c ON c.id = k.category_id
+            LEFT JOIN eelarve_seisud s ON s.budget_id = k.budget_id AND s.category_id = k.category_id
+            WHERE k.budget_id = ?
+            ORDER BY k.category_id
+            """;
+
+    // Sums the changes per snapshot row that they fall into, then applies them in one statement.
+    private static final String APPLY_CHANGES_SQL = """
+            WITH changes (category_id, user_id, transaction_date, amount) AS (
+                SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::date[], ?::numeric[])
+            ), deltas AS (
+                SELECT s.id, SUM(c.amount) AS amount
+                FROM changes c
+                JOIN eelarve_seisud s ON s.category_id = c.category_id
+                JOIN eelarved b ON b.id = s.budget_id
+                WHERE (b.start_date IS NULL OR c.transaction_date >= b.start_date)
+                    AND (b.end_date IS NULL OR c.transaction_date <= b.end_date)
+                    AND EXISTS (SELECT 1 FROM eelarve_liikmed l WHERE l.budget_id = b.id AND l.user_id = c.user_id)
+                GROUP BY s.id
+            )
+            UPDATE eelarve_seisud s
+            SET spent_amount = s.spent_amount + d.amount,
+                version = s.version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            FROM deltas d
+            WHERE s.id = d.id
+            RETURNING s.budget_id, s.category_id, s.spent_amount, s.version
+            """;
+
+    private static final String MARK_REBUILD_SQL = "UPDATE eelarve_seisud SET needs_rebuild = TRUE WHERE budget_id = ?";
+
+    private static final String DELETE_SNAPSHOT_SQL = "DELETE FROM eelarve_seisud WHERE budget_id = ?";
+
+    private record SnapshotRow(Long budgetId, Long categoryId, BigDecimal spent, long version) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, BudgetProgress> budgets = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+    // Bumped under the stripe lock whenever a budget of the stripe is evicted or a committed
+    // change finds it missing from memory; a load that saw an older value may be stale.
+    private final long[] generations = new long[STRIPES];
+
+    public BudgetProgressService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    public BigDecimal getTotalSpent(Long budgetId) {
+        return withProgress(budgetId, BudgetProgress::getTotalSpent);
+    }
+
+    public List<CategorySpentDTO> getSpentByCategory(Long budgetId) {
+        return withProgress(budgetId, BudgetProgress::getSpentByCategory);
+    }
+
+    /**
+     * Returns the budget's current totals and runs {@code afterRead} under the same lock, so a
+     * listener registered there sees exactly the changes that come after the returned totals.
+     */
+    public BudgetProgressDTO getProgress(Long budgetId, Runnable afterRead) {
+        return withProgress(budgetId, progress -> {
+            BudgetProgressDTO dto = progress.toDTO(budgetId);
+            afterRead.run();
+            return dto;
+        });
+    }
+
+    /**
+     * Applies transaction changes to the snapshots of every budget they count towards. Runs
+     * inside the writer's transaction; memory follows after commit.
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        List<TransactionChange> changes = new ArrayList<>();
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (TransactionChange change : event.added()) {
+            if (change.categoryId() != null) {
+                changes.add(change);
+                amounts.add(change.amount());
+            }
+        }
+        for (TransactionChange change : event.removed()) {
+            if (change.categoryId() != null) {
+                changes.add(change);
+                amounts.add(change.amount().negate());
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Long[] categoryIds = changes.stream().map(TransactionChange::categoryId).toArray(Long[]::new);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_BUDGETS_OF_CATEGORIES_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", categoryIds));
+            return statement;
+        }, resultSet -> {});
+
+        List<SnapshotRow> updated = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_CHANGES_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", categoryIds));
+            statement.setArray(2, connection.createArrayOf("bigint",
+                    changes.stream().map(TransactionChange::userId).toArray(Long[]::new)));
+            statement.setArray(3, connection.createArrayOf("date",
+                    changes.stream().map(change -> Date.valueOf(change.transactionDate())).toArray(Date[]::new)));
+            statement.setArray(4, connection.createArrayOf("numeric", amounts.toArray(BigDecimal[]::new)));
+            return statement;
+        }, (resultSet, rowNum) -> new SnapshotRow(
+                resultSet.getLong(1), resultSet.getLong(2), resultSet.getBigDecimal(3), resultSet.getLong(4)));
+
+        if (!updated.isEmpty()) {
+            afterCommit(() -> applyToMemory(updated));
+        }
+    }
+
+    /**
+     * Marks the budget's snapshot stale after its dates, categories or members changed. Call
+     * inside the transaction making that change; memory is dropped once it commits, until
+     * then readers keep the old totals.
+     */
+    public void invalidate(Long budgetId) {
+        jdbcTemplate.queryForList(LOCK_BUDGET_SQL, Long.class, budgetId);
+        jdbcTemplate.update(MARK_REBUILD_SQL, budgetId);
+        afterCommit(() -> evict(budgetId));
+    }
+
+    public void delete(Long budgetId) {
+        jdbcTemplate.update(DELETE_SNAPSHOT_SQL, budgetId);
+        afterCommit(() -> evict(budgetId));
+    }
+
+    /**
+     * Drops cached budgets showing the category once the caller commits, e.g. after a
+     * rename. The totals themselves are unaffected, so nothing is recomputed.
+     */
+    public void evictCategory(Long categoryId) {
+        afterCommit(() -> {
+            for (Long budgetId : List.copyOf(budgets.keySet())) {
+                synchronized (stripe(budgetId)) {
+                    BudgetProgress progress = budgets.get(budgetId);
+                    if (progress != null && progress.containsCategory(categoryId)) {
+                        remove(budgetId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs {@code read} under the stripe lock against the cached budget, loading it first if
+     * needed. The load runs without the lock; its result is cached only if the stripe's
+     * generation did not move meanwhile, otherwise the load is repeated. Should the stripe
+     * stay that busy, the last load answers this one read uncached.
+     */
+    private <T> T withProgress(Long budgetId, Function<BudgetProgress, T> read) {
+        Object stripe = stripe(budgetId);
+        int index = stripeIndex(budgetId);
+        for (int attempt = 1; ; attempt++) {
+            long generation;
+            synchronized (stripe) {
+                BudgetProgress progress = budgets.get(budgetId);
+                if (progress != null) {
+                    return read.apply(progress);
+                }
+                generation = generations[index];
+            }
+            BudgetProgress loaded = load(budgetId);
+            synchronized (stripe) {
+                BudgetProgress progress = budgets.get(budgetId);
+                if (progress != null) {
+                    return read.apply(progress);
+                }
+                if (generations[index] == generation) {
+                    budgets.put(budgetId, loaded);
+                    return read.apply(loaded);
+                }
+                if (attempt == MAX_LOAD_ATTEMPTS) {
+                    T result = read.apply(loaded);
+                    // Not cached, so no changes follow; have listeners read again later.
+                    eventPublisher.publishEvent(new BudgetProgressInvalidatedEvent(budgetId));
+                    return result;
+                }
+            }
+        }
+    }
+
+    private BudgetProgress load(Long budgetId) {
+        BudgetProgress progress = readSnapshot(budgetId);
+        if (progress != null) {
+            return progress;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.queryForList(LOCK_BUDGET_SQL, Long.class, budgetId).isEmpty()) {
+                throw new IllegalArgumentException("Budget not found");
+            }
+            jdbcTemplate.update(COMPUTE_SNAPSHOT_SQL, budgetId);
+        });
+        progress = readSnapshot(budgetId);
+        return progress != null ? progress : new BudgetProgress();
+    }
+
+    /**
+     * Returns the stored snapshot, or null when it is missing or stale for any category.
+     */
+    private BudgetProgress readSnapshot(Long budgetId) {
+        BudgetProgress progress = new BudgetProgress();
+        boolean[] complete = {true};
+        jdbcTemplate.query(LOAD_SNAPSHOT_SQL, resultSet -> {
+            BigDecimal spent = resultSet.getBigDecimal(3);
+            if (spent == null || resultSet.getBoolean(5)) {
+                complete[0] = false;
+                return;
+            }
+            progress.put(resultSet.getLong(1), resultSet.getString(2), spent, resultSet.getLong(4));
+        }, budgetId);
+        // A budget without categories has no rows either way and is computed every time it is
+        // loaded, which costs nothing.
+        return complete[0] && !progress.isEmpty() ? progress : null;
+    }
+
+    private void applyToMemory(List<SnapshotRow> rows) {
+        Map<Long, List<SnapshotRow>> byBudget = rows.stream().collect(Collectors.groupingBy(SnapshotRow::budgetId));
+        byBudget.forEach((budgetId, budgetRows) -> {
+            synchronized (stripe(budgetId)) {
+                BudgetProgress progress = budgets.get(budgetId);
+                if (progress == null) {
+                    // A load running now may have read the snapshot before this change.
+                    generations[stripeIndex(budgetId)]++;
+                    return;
+                }
+                List<BudgetCategoryProgressDTO> changes = new ArrayList<>();
+                for (SnapshotRow row : budgetRows) {
+                    BudgetCategoryProgressDTO change = progress.update(row.categoryId(), row.spent(), row.version());
+                    if (change != null) {
+                        changes.add(change);
+                    }
+                }
+                // Published under the stripe lock so listeners see a budget's changes in version
+                // order; they must only queue the event, never do I/O here.
+                if (!changes.isEmpty()) {
+                    eventPublisher.publishEvent(new BudgetProgressChangedEvent(budgetId, progress.getTotalSpent(), changes));
+                }
+            }
+        });
+    }
+
+    private void evict(Long budgetId) {
+        synchronized (stripe(budgetId)) {
+            remove(budgetId);
+        }
+    }
+
+    // Caller holds the budget's stripe lock.
+    private void remove(Long budgetId) {
+        budgets.remove(budgetId);
+        generations[stripeIndex(budgetId)]++;
+        eventPublisher.publishEvent(new BudgetProgressInvalidatedEvent(budgetId));
+    }
+
+    private Object stripe(Long budgetId) {
+        return stripes[stripeIndex(budgetId)];
+    }
+
+    private static int stripeIndex(Long budgetId) {
+        return Math.floorMod(budgetId.hashCode(), STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
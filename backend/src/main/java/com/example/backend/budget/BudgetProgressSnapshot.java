@@ -0,0 +1,48 @@
+package com.example.backend.budget;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted running total of one category inside one budget, maintained by
+ * BudgetProgressService. The version goes up by one with every change, which lets the
+ * in-memory copy tell newer values from older ones.
+ */
+@Entity
+@Table(name = "eelarve_seisud", uniqueConstraints = @UniqueConstraint(
+        name = "ux_eelarve_seisud_budget_category",
+        columnNames = {"budget_id", "category_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetProgressSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "spent_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal spentAmount;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Set when the budget's dates, categories or members change; the next read recomputes.
+    @Column(name = "needs_rebuild", nullable = false)
+    private boolean needsRebuild;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,194 @@
+package com.example.backend.budget;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes budget progress to open Server-Sent Events streams. A stream starts with a
+ * "snapshot" event holding the whole budget, followed by "progress" events with only the
+ * categories that changed.
+ * <p>
+ * Changes are merged into each subscription as they are committed and flushed on a fixed
+ * interval, so a burst of writes, such as an import, reaches the client as one event. Sends
+ * run on a small bounded pool with at most one send per stream in flight; a stream that
+ * cannot keep up just has more merged into its next event.
+ * <p>
+ * When a budget's totals are dropped after its categories or members changed, its streams
+ * get a new "snapshot" once the totals are recomputed. Membership is checked again at that
+ * point, so a removed member's stream is closed.
+ */
+@Service
+public class BudgetProgressStreamService {
+
+    private final BudgetProgressService budgetProgressService;
+    private final BudgetRepository budgetRepository;
+    private final Executor budgetStreamExecutor;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final int maxConnections;
+    private final Map<Long, Set<BudgetSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public BudgetProgressStreamService(BudgetProgressService budgetProgressService,
+                                       BudgetRepository budgetRepository,
+                                       @Qualifier("budgetStreamExecutor") Executor budgetStreamExecutor,
+                                       @Value("${budget.stream.timeout-minutes:30}") long timeoutMinutes,
+                                       @Value("${budget.stream.heartbeat-seconds:30}") long heartbeatSeconds,
+                                       @Value("${budget.stream.max-connections:500}") int maxConnections) {
+        this.budgetProgressService = budgetProgressService;
+        this.budgetRepository = budgetRepository;
+        this.budgetStreamExecutor = budgetStreamExecutor;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.heartbeatMillis = Duration.ofSeconds(heartbeatSeconds).toMillis();
+        this.maxConnections = maxConnections;
+    }
+
+    public SseEmitter subscribe(Long budgetId, Long userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open progress streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        BudgetSubscription subscription = new BudgetSubscription(budgetId, userId, emitter);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+
+        BudgetProgressDTO snapshot;
+        try {
+            snapshot = budgetProgressService.getProgress(budgetId, () -> subscriptions
+                    .computeIfAbsent(budgetId, id -> ConcurrentHashMap.newKeySet())
+                    .add(subscription));
+        } catch (RuntimeException e) {
+            remove(subscription);
+            throw e;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+            subscription.sent(System.currentTimeMillis());
+        } catch (IOException e) {
+            remove(subscription);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onProgressChanged(BudgetProgressChangedEvent event) {
+        Set<BudgetSubscription> budgetSubscriptions = subscriptions.get(event.budgetId());
+        if (budgetSubscriptions == null) {
+            return;
+        }
+        for (BudgetSubscription subscription : budgetSubscriptions) {
+            subscription.merge(event);
+        }
+    }
+
+    @EventListener
+    public void onProgressInvalidated(BudgetProgressInvalidatedEvent event) {
+        Set<BudgetSubscription> budgetSubscriptions = subscriptions.get(event.budgetId());
+        if (budgetSubscriptions == null) {
+            return;
+        }
+        for (BudgetSubscription subscription : budgetSubscriptions) {
+            subscription.markStale();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budget.stream.flush-interval-ms:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Set<BudgetSubscription> budgetSubscriptions : subscriptions.values()) {
+            for (BudgetSubscription subscription : budgetSubscriptions) {
+                if (!subscription.hasPending() && now - subscription.getLastSentAt() < heartbeatMillis) {
+                    continue;
+                }
+                if (!subscription.tryStartSending()) {
+                    continue;
+                }
+                try {
+                    budgetStreamExecutor.execute(() -> send(subscription));
+                } catch (RejectedExecutionException e) {
+                    // The changes stay merged and go out on a later flush.
+                    subscription.sendFailed();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscriptions.values().forEach(budgetSubscriptions ->
+                budgetSubscriptions.forEach(subscription -> subscription.getEmitter().complete()));
+    }
+
+    private void send(BudgetSubscription subscription) {
+        try {
+            if (subscription.isStale()) {
+                resync(subscription);
+                return;
+            }
+            BudgetProgressDTO progress = subscription.drain();
+            if (progress != null) {
+                subscription.getEmitter().send(SseEmitter.event().name("progress").data(progress, MediaType.APPLICATION_JSON));
+            } else {
+                // Keeps proxies from closing an idle stream.
+                subscription.getEmitter().send(SseEmitter.event().comment("keep-alive"));
+            }
+            subscription.sent(System.currentTimeMillis());
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            subscription.sendFailed();
+            remove(subscription);
+        } catch (RuntimeException e) {
+            // Reloading the budget failed; the stream stays stale and is retried next flush.
+            subscription.sendFailed();
+        }
+    }
+
+    private void resync(BudgetSubscription subscription) throws IOException {
+        BudgetProgressDTO snapshot = null;
+        if (budgetRepository.existsByIdAndMembersId(subscription.getBudgetId(), subscription.getUserId())) {
+            try {
+                snapshot = budgetProgressService.getProgress(subscription.getBudgetId(), subscription::resynced);
+            } catch (IllegalArgumentException e) {
+                // Deleted since the membership check.
+            }
+        }
+        if (snapshot == null) {
+            subscription.sendFailed();
+            remove(subscription);
+            subscription.getEmitter().complete();
+            return;
+        }
+        subscription.getEmitter().send(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+        subscription.sent(System.currentTimeMillis());
+    }
+
+    private void remove(BudgetSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getBudgetId(), (budgetId, budgetSubscriptions) -> {
+            budgetSubscriptions.remove(subscription);
+            return budgetSubscriptions.isEmpty() ? null : budgetSubscriptions;
+        });
+        if (subscription.close()) {
+            connections.decrementAndGet();
+        }
+    }
+}
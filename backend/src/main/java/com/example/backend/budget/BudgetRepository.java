@@ -1,13 +1,60 @@
 package com.example.backend.budget;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByMembersId(Long userId);
 
     List<Budget> findByCategoriesId(Long categoryId);
+
+    boolean existsByIdAndMembersId(Long id, Long userId);
+
+    // Flat projections for the budget list, so no lazy collection is ever initialized.
+
+    @Query("""
+            SELECT new com.example.backend.budget.BudgetRow(b.id, b.name, b.totalAmount, b.shared, b.startDate, b.endDate)
+            FROM Budget b JOIN b.members m
+            WHERE m.id = :userId
+            ORDER BY b.id
+            """)
+    List<BudgetRow> findRowsByMemberId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT new com.example.backend.budget.BudgetRow(b.id, b.name, b.totalAmount, b.shared, b.startDate, b.endDate)
+            FROM Budget b
+            WHERE b.id = :id
+            """)
+    Optional<BudgetRow> findRowById(@Param("id") Long id);
+
+    @Query("""
+            SELECT new com.example.backend.budget.BudgetCategoryRow(b.id, c.id, c.name)
+            FROM Budget b JOIN b.categories c
+            WHERE b.id IN :budgetIds
+            ORDER BY b.id, c.id
+            """)
+    List<BudgetCategoryRow> findCategoryRowsByBudgetIds(@Param("budgetIds") Collection<Long> budgetIds);
+
+    @Query("""
+            SELECT new com.example.backend.budget.BudgetMemberRow(b.id, m.id, m.email, m.kasutajanimi)
+            FROM Budget b JOIN b.members m
+            WHERE b.id IN :budgetIds
+            ORDER BY b.id, m.id
+            """)
+    List<BudgetMemberRow> findMemberRowsByBudgetIds(@Param("budgetIds") Collection<Long> budgetIds);
+
+    @Query("""
+            SELECT new com.example.backend.budget.CategoryTransactionRow(t.category.id, t.id)
+            FROM Transaction t
+            WHERE t.category.id IN :categoryIds
+            ORDER BY t.id
+            """)
+    List<CategoryTransactionRow> findTransactionRowsByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
 }
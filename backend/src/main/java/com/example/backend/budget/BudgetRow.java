@@ -0,0 +1,13 @@
+package com.example.backend.budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BudgetRow(
+        Long id,
+        String name,
+        BigDecimal totalAmount,
+        boolean shared,
+        LocalDate startDate,
+        LocalDate endDate
+) {}
@@ -12,30 +12,48 @@ import com.example.backend.users.UserRepository;
 import com.example.backend.users.Users;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BudgetService {
 
+    private static final int IN_BATCH_SIZE = 1000;
+    private static final Set<String> BUDGET_EXPANSIONS = Set.of("categories", "members", "transactions");
+
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
     private final EmailTemplate emailTemplate;
     private final EmailSender emailSender;
     private final CategoryRepository categoryRepository;
+    private final BudgetProgressService budgetProgressService;
+    private final BudgetProgressStreamService budgetProgressStreamService;
     private final String backendUrl;
 
     public BudgetService(BudgetRepository budgetRepository, UserRepository userRepository, EmailTemplate emailTemplate,
                          EmailSender emailSender, CategoryRepository categoryRepository,
+                         BudgetProgressService budgetProgressService,
+                         BudgetProgressStreamService budgetProgressStreamService,
                          @Value("${APP_BACKEND_URL}") String backendUrl) {
         this.budgetRepository = budgetRepository;
         this.userRepository = userRepository;
         this.emailTemplate = emailTemplate;
         this.emailSender = emailSender;
         this.categoryRepository = categoryRepository;
+        this.budgetProgressService = budgetProgressService;
+        this.budgetProgressStreamService = budgetProgressStreamService;
         this.backendUrl = backendUrl;  // Store the injected backend URL
     }
 
@@ -72,23 +90,74 @@ public class BudgetService {
     }
 
     public BigDecimal calculateTotalSpentAmountInBudget(Long budgetId) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
+        return budgetProgressService.getTotalSpent(budgetId);
+    }
 
-        return budget.getCategories().stream()
-                .flatMap(category -> category.getTransactions().stream()) // Flatten all transactions
-                .map(Transaction::getAmount) // Extract the amount
-                .reduce(BigDecimal.ZERO, BigDecimal::add); // Sum up the amounts
+    public SseEmitter streamProgress(Long budgetId) {
+        Long userId = SecurityUtils.getAuthenticatedUserId();
+        if (!budgetRepository.existsByIdAndMembersId(budgetId, userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found");
+        }
+        return budgetProgressStreamService.subscribe(budgetId, userId);
     }
-    public Budget getBudget(Long id) {
-        return budgetRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Budget not found"));
+
+    /**
+     * Builds the budget from projection queries, one per requested expansion, so the query
+     * count and payload depend only on {@code include}. Accepted values are categories,
+     * members and transactions; transactions implies categories.
+     */
+    public BudgetDetailsDTO getBudget(Long id, Set<String> include) {
+        Set<String> expansions = include == null ? Set.of() : include.stream()
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toSet());
+        for (String expansion : expansions) {
+            if (!BUDGET_EXPANSIONS.contains(expansion)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown include: " + expansion);
+            }
+        }
+        boolean withTransactions = expansions.contains("transactions");
+        boolean withCategories = withTransactions || expansions.contains("categories");
+
+        BudgetRow budget = budgetRepository.findRowById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found"));
+
+        List<BudgetCategoryDTO> categories = null;
+        if (withCategories) {
+            List<BudgetCategoryRow> categoryRows = budgetRepository.findCategoryRowsByBudgetIds(List.of(id));
+            Map<Long, List<Long>> transactionIdsByCategory = !withTransactions ? Map.of()
+                    : inBatches(categoryRows.stream().map(BudgetCategoryRow::categoryId).toList(),
+                            budgetRepository::findTransactionRowsByCategoryIds)
+                    .stream()
+                    .collect(Collectors.groupingBy(CategoryTransactionRow::categoryId,
+                            Collectors.mapping(CategoryTransactionRow::transactionId, Collectors.toList())));
+            categories = categoryRows.stream()
+                    .map(category -> new BudgetCategoryDTO(
+                            category.categoryId(),
+                            category.categoryName(),
+                            withTransactions ? transactionIdsByCategory.getOrDefault(category.categoryId(), List.of()) : null
+                    ))
+                    .toList();
+        }
+
+        List<MemberDTO> members = null;
+        if (expansions.contains("members")) {
+            members = budgetRepository.findMemberRowsByBudgetIds(List.of(id)).stream()
+                    .map(row -> new MemberDTO(row.email(), row.userId(), row.username()))
+                    .toList();
+        }
+
+        return new BudgetDetailsDTO(budget.id(), budget.name(), budget.totalAmount(), budget.shared(),
+                budget.startDate(), budget.endDate(), categories, members);
     }
 
+    @Transactional
     public void deleteBudget(Long id) {
+        budgetProgressService.delete(id);
         budgetRepository.deleteById(id);
     }
 
+    @Transactional
     public void updateBudget(Long id, BudgetDTO budgetDTO) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
@@ -99,39 +168,59 @@ public class BudgetService {
         budget.setEndDate(budgetDTO.endDate());
 
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(id);
     }
+    /**
+     * Loads the user's budgets with four projection queries (budgets, their categories,
+     * members and the categories' transaction ids) however many budgets there are, instead
+     * of walking the lazy collections of every budget and category.
+     */
     public List<BudgetDTO> getAllBudgets() {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return budgetRepository.findByMembersId(userId)
+        List<BudgetRow> budgets = budgetRepository.findRowsByMemberId(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        List<Long> budgetIds = budgets.stream().map(BudgetRow::id).toList();
+
+        Map<Long, List<BudgetCategoryRow>> categoriesByBudget = inBatches(budgetIds, budgetRepository::findCategoryRowsByBudgetIds)
+                .stream()
+                .collect(Collectors.groupingBy(BudgetCategoryRow::budgetId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, List<MemberDTO>> membersByBudget = inBatches(budgetIds, budgetRepository::findMemberRowsByBudgetIds)
+                .stream()
+                .collect(Collectors.groupingBy(BudgetMemberRow::budgetId, LinkedHashMap::new,
+                        Collectors.mapping(row -> new MemberDTO(row.email(), row.userId(), row.username()), Collectors.toList())));
+
+        List<Long> categoryIds = categoriesByBudget.values().stream()
+                .flatMap(List::stream)
+                .map(BudgetCategoryRow::categoryId)
+                .distinct()
+                .toList();
+        Map<Long, List<Long>> transactionIdsByCategory = inBatches(categoryIds, budgetRepository::findTransactionRowsByCategoryIds)
                 .stream()
+                .collect(Collectors.groupingBy(CategoryTransactionRow::categoryId,
+                        Collectors.mapping(CategoryTransactionRow::transactionId, Collectors.toList())));
+
+        return budgets.stream()
                 .map(budget -> new BudgetDTO(
-                        budget.getId(),
-                        budget.getName(),
-                        budget.getTotalAmount(),
-                        budget.getCategories().stream()
+                        budget.id(),
+                        budget.name(),
+                        budget.totalAmount(),
+                        categoriesByBudget.getOrDefault(budget.id(), List.of()).stream()
                                 .map(category -> new BudgetCategoryDTO(
-                                        category.getId(),
-                                        category.getName(),
-                                        category.getTransactions() != null
-                                                ? category.getTransactions().stream()
-                                                .map(Transaction::getId)
-                                                .collect(Collectors.toList())
-                                                : List.of()
-                                ))
-                                .toList(),
-                        budget.isShared(),
-                        budget.getMembers().stream()
-                                .map(member -> new MemberDTO(
-                                        member.getEmail(),
-                                        member.getId(),
-                                        member.getKasutajanimi()
+                                        category.categoryId(),
+                                        category.categoryName(),
+                                        transactionIdsByCategory.getOrDefault(category.categoryId(), List.of())
                                 ))
                                 .toList(),
-                        budget.getStartDate(),
-                        budget.getEndDate()
+                        budget.shared(),
+                        membersByBudget.getOrDefault(budget.id(), List.of()),
+                        budget.startDate(),
+                        budget.endDate()
                 ))
                 .toList();
     }
+
     @Transactional
     public void addCategoryToBudget(Long budgetId, String categoryName) {
         Budget budget = budgetRepository.findById(budgetId)
@@ -148,6 +237,7 @@ public class BudgetService {
         categoryRepository.save(category);
         budget.addCategory(category);
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(budgetId);
     }
 
     @Transactional
@@ -173,6 +263,7 @@ public class BudgetService {
         Users user = userRepository.findByEmail(email);
         budget.addMember(user);
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(budgetId);
 
         new BudgetDTO(
                 budget.getId(),
@@ -197,6 +288,7 @@ public class BudgetService {
                 budget.getEndDate()
         );
     }
+    @Transactional
     public void removeMember(Long budgetId, Long userId) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
@@ -204,21 +296,14 @@ public class BudgetService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         budget.removeMember(userToRemove);
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(budgetId);
     }
 
-    @Transactional
     public List<CategorySpentDTO> getSpentAmountByCategoryForBudget(Long budgetId) {
-        Budget budget = getBudget(budgetId); // Fetch the budget
-        return budget.getCategories().stream()
-                .map(category -> {
-                    BigDecimal totalSpent = category.getTransactions().stream()
-                            .map(Transaction::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new CategorySpentDTO(category.getName(), totalSpent);
-                })
-                .collect(Collectors.toList());
+        return budgetProgressService.getSpentByCategory(budgetId);
     }
 
+    @Transactional
     public void removeCategoryFromBudget(Long budgetId, Long categoryId) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
@@ -226,5 +311,21 @@ public class BudgetService {
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
         budget.removeCategory(categoryToRemove);
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(budgetId);
+    }
+
+    // Keeps IN lists well below the driver's bind parameter limit.
+    private static <T> List<T> inBatches(List<Long> ids, Function<List<Long>, List<T>> query) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() <= IN_BATCH_SIZE) {
+            return query.apply(ids);
+        }
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_BATCH_SIZE) {
+            rows.addAll(query.apply(ids.subList(from, Math.min(from + IN_BATCH_SIZE, ids.size()))));
+        }
+        return rows;
     }
-}
\ No newline at end of file
+}
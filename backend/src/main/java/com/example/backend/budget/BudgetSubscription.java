@@ -0,0 +1,114 @@
+package com.example.backend.budget;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open progress stream. Changes that arrive while a send is in flight are merged per
+ * category, so the buffer never holds more than one entry per category of the budget and a
+ * slow client gets fewer, larger updates instead of a growing backlog.
+ */
+class BudgetSubscription {
+
+    private final Long budgetId;
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final Map<Long, BudgetCategoryProgressDTO> pending = new LinkedHashMap<>();
+    private BigDecimal totalSpent;
+    // Set when the budget's totals were dropped; the next send is a fresh snapshot.
+    private boolean stale;
+    // Held from registration until the initial snapshot has been sent.
+    private final AtomicBoolean sending = new AtomicBoolean(true);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    BudgetSubscription(Long budgetId, Long userId, SseEmitter emitter) {
+        this.budgetId = budgetId;
+        this.userId = userId;
+        this.emitter = emitter;
+    }
+
+    Long getBudgetId() {
+        return budgetId;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    synchronized void merge(BudgetProgressChangedEvent event) {
+        totalSpent = event.totalSpent();
+        for (BudgetCategoryProgressDTO change : event.changes()) {
+            pending.merge(change.categoryId(), change, (older, newer) -> new BudgetCategoryProgressDTO(
+                    newer.categoryId(), newer.categoryName(), newer.spent(), older.delta().add(newer.delta())));
+        }
+    }
+
+    synchronized void markStale() {
+        stale = true;
+        pending.clear();
+    }
+
+    synchronized boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Called under the budget's lock together with reading the snapshot being sent, so
+     * changes merged after it are exactly those newer than the snapshot.
+     */
+    synchronized void resynced() {
+        stale = false;
+        pending.clear();
+    }
+
+    synchronized boolean hasPending() {
+        return stale || !pending.isEmpty();
+    }
+
+    /**
+     * Takes everything merged since the last drain, or null when nothing changed.
+     */
+    synchronized BudgetProgressDTO drain() {
+        if (stale || pending.isEmpty()) {
+            return null;
+        }
+        BudgetProgressDTO progress = new BudgetProgressDTO(budgetId, totalSpent, new ArrayList<>(pending.values()));
+        pending.clear();
+        return progress;
+    }
+
+    boolean tryStartSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void sent(long now) {
+        lastSentAt = now;
+        sending.set(false);
+    }
+
+    void sendFailed() {
+        sending.set(false);
+    }
+
+    /**
+     * Returns true only for the first call, so the connection is released exactly once however
+     * many of the emitter's callbacks fire.
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    long getLastSentAt() {
+        return lastSentAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.backend.budget;
+
+public record CategoryTransactionRow(
+        Long categoryId,
+        Long transactionId
+) {}
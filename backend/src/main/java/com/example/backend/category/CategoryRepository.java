@@ -3,6 +3,7 @@ package com.example.backend.category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +11,8 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
+    List<Category> findByNameIn(Collection<String> names);
+
     Optional<Category> findByNameAndUserId(String normalizedCategoryName, Long userId);
 
     List<Category> findByUserId(Long userId);
@@ -2,7 +2,9 @@ package com.example.backend.category;
 
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.budget.Budget;
+import com.example.backend.budget.BudgetProgressService;
 import com.example.backend.budget.BudgetRepository;
+import com.example.backend.groupingrules.GroupingRulesService;
 import com.example.backend.transaction.Transaction;
 import com.example.backend.transaction.TransactionRepository;
 import com.example.backend.users.Users;
@@ -22,16 +24,22 @@ public class CategoryService {
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
     private final BudgetRepository budgetRepository;
+    private final BudgetProgressService budgetProgressService;
+    private final GroupingRulesService groupingRulesService;
 
     public CategoryService(
             CategoryRepository categoryRepository,
             UserRepository userRepository,
             TransactionRepository transactionRepository,
-            BudgetRepository budgetRepository) {
+            BudgetRepository budgetRepository,
+            BudgetProgressService budgetProgressService,
+            GroupingRulesService groupingRulesService) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
+        this.budgetProgressService = budgetProgressService;
+        this.groupingRulesService = groupingRulesService;
     }
 
     public void addCategory(CategoryDTO categoryDTO) {
@@ -97,10 +105,13 @@ public class CategoryService {
 
         budget.addCategory(category);
         budgetRepository.save(budget);
+        budgetProgressService.invalidate(budgetId);
     }
 
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        // Compiled rule matchers hold Category entities; global categories appear in any user's rules.
+        groupingRulesService.evictMatcher(null);
     }
 
     public void updateCategory(Long id, CategoryDTO categoryDTO) {
@@ -114,6 +125,8 @@ public class CategoryService {
         category.setTransactions(transactions);
 
         categoryRepository.save(category);
+        budgetProgressService.evictCategory(id);
+        groupingRulesService.evictMatcher(null);
     }
 
 
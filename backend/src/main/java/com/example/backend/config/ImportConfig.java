@@ -0,0 +1,80 @@
+package com.example.backend.config;
+
+import com.example.backend.transaction.CamtStatementFormat;
+import com.example.backend.transaction.DelimitedStatementFormat;
+import com.example.backend.transaction.StatementFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ImportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool importParsingPool(@Value("${transaction.import.parallelism:0}") int parallelism) {
+        // 0 means one worker per available core.
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs whole import jobs. Both the worker count and the queue are bounded; once the queue
+     * is full new imports are rejected instead of piling up.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor importJobExecutor(@Value("${transaction.import.workers:2}") int workers,
+                                                @Value("${transaction.import.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "import-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Verifies monthly rollups, one user per task. The verification run submits one page of
+     * users at a time, so the queue never holds more than a page.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor rollupVerificationExecutor(@Value("${transaction.rollup.verify-parallelism:4}") int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "rollup-verify-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    // Statement formats, tried in this order when an upload is detected.
+
+    @Bean
+    @Order(1)
+    public StatementFormat pangaliitCsvFormat() {
+        return DelimitedStatementFormat.pangaliit();
+    }
+
+    @Bean
+    @Order(2)
+    public StatementFormat swedbankCsvFormat() {
+        return DelimitedStatementFormat.swedbank();
+    }
+
+    @Bean
+    @Order(3)
+    public StatementFormat camtXmlFormat() {
+        return new CamtStatementFormat();
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,6 +12,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
     @Value("${APP_FRONTEND_URL}")
     private String appFrontendUrl;
+    @Value("${web.async.pool-size:8}")
+    private int asyncPoolSize;
+    @Value("${web.async.queue-capacity:100}")
+    private int asyncQueueCapacity;
+    @Value("${budget.stream.senders:4}")
+    private int streamSenders;
+    @Value("${budget.stream.max-connections:500}")
+    private int streamMaxConnections;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -17,4 +29,38 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs streaming response bodies. The import pools are Executor beans, which switches off
+     * Spring Boot's default task executor, so without this MVC would fall back to a new
+     * thread per async request.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * Writes budget progress events to open streams. Each stream has at most one send queued,
+     * so a queue the size of the connection limit is never exceeded.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor budgetStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamSenders);
+        executor.setMaxPoolSize(streamSenders);
+        executor.setQueueCapacity(streamMaxConnections);
+        executor.setThreadNamePrefix("budget-stream-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.groupingrules;
+
+public record GroupingRulesCacheStatsDTO(
+        int cachedUsers,
+        int maxCachedUsers,
+        long hits,
+        long misses
+) {}
@@ -19,6 +19,12 @@ public class GroupingRulesController {
         return ResponseEntity.ok(groupingRulesService.getAllGroupingRules());
     }
 
+    @GetMapping("/cache-stats")
+    public ResponseEntity<GroupingRulesCacheStatsDTO> getCacheStats(
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
+        return ResponseEntity.ok(groupingRulesService.getCacheStats(adminToken));
+    }
+
     @DeleteMapping("/{id}")
     public void deleteGroupingRule(@PathVariable Long id) {
         groupingRulesService.deleteGroupingRule(id);
@@ -0,0 +1,137 @@
+package com.example.backend.groupingrules;
+
+import com.example.backend.category.Category;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Compiled snapshot of a user's active grouping rules. The criteria are built into an
+ * Aho-Corasick automaton, so matching a description costs time linear in its length no
+ * matter how many rules the user has.
+ * <p>
+ * Matching is case-insensitive. When several criteria occur in a description the rule
+ * with the lowest id wins, i.e. the oldest rule takes precedence.
+ */
+public class GroupingRulesMatcher {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final Category[] categories;
+
+    // Per state: sorted outgoing characters and their target states.
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Per state: best (lowest) rule index among criteria ending here or on its failure chain.
+    private final int[] output;
+
+    public GroupingRulesMatcher(List<GroupingRules> rules) {
+        List<GroupingRules> ordered = rules.stream()
+                .filter(rule -> rule.getCriterion() != null)
+                .sorted(Comparator.comparing(GroupingRules::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        categories = new Category[ordered.size()];
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(NO_MATCH);
+
+        for (int ruleIndex = 0; ruleIndex < ordered.size(); ruleIndex++) {
+            GroupingRules rule = ordered.get(ruleIndex);
+            categories[ruleIndex] = rule.getCategory();
+            String criterion = rule.getCriterion();
+            int state = 0;
+            for (int i = 0; i < criterion.length(); i++) {
+                char c = Character.toLowerCase(criterion.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(NO_MATCH);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminal.set(state, Math.min(terminal.get(state), ruleIndex));
+        }
+
+        int stateCount = trie.size();
+        edgeChars = new char[stateCount][];
+        edgeTargets = new int[stateCount][];
+        failure = new int[stateCount];
+        output = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+            output[state] = terminal.get(state);
+        }
+
+        // Breadth-first so every failure target is finished before it is used.
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] = Math.min(output[state], output[failure[state]]);
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && step(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = step(fallback, c);
+                failure[child] = target >= 0 ? target : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the category of the highest-precedence rule whose criterion occurs in the
+     * description, or null when no rule matches.
+     */
+    public Category match(String description) {
+        if (description == null || categories.length == 0) {
+            return null;
+        }
+        int best = output[0];
+        int state = 0;
+        for (int i = 0; i < description.length() && best != 0; i++) {
+            char c = Character.toLowerCase(description.charAt(i));
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next >= 0 ? next : 0;
+            best = Math.min(best, output[state]);
+        }
+        return best == NO_MATCH ? null : categories[best];
+    }
+
+    public boolean isEmpty() {
+        return categories.length == 0;
+    }
+
+    private int step(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.backend.groupingrules;
 
+import com.example.backend.auth.AdminTokenVerifier;
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.category.Category;
 import com.example.backend.category.CategoryRepository;
 import com.example.backend.users.UserRepository;
 import com.example.backend.users.Users;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,13 +22,31 @@ public class GroupingRulesService {
     private final GroupingRulesRepository groupingRulesRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final AdminTokenVerifier adminTokenVerifier;
+
+    @Value("${grouping-rules.cache.max-users:1000}")
+    private int maxCachedUsers;
+
+    // Compiled matchers per user id, least recently used evicted first.
+    private final Map<Long, GroupingRulesMatcher> matcherCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, GroupingRulesMatcher> eldest) {
+            return size() > maxCachedUsers;
+        }
+    };
+    // Bumped on every eviction so a matcher compiled from rules read before the change is not cached.
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     public GroupingRulesService(GroupingRulesRepository groupingRulesRepository,
                                 UserRepository userRepository,
-                                CategoryRepository categoryRepository) {
+                                CategoryRepository categoryRepository,
+                                AdminTokenVerifier adminTokenVerifier) {
         this.groupingRulesRepository = groupingRulesRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
+        this.adminTokenVerifier = adminTokenVerifier;
     }
 
     public void addGroupingRule(GroupingRulesDTO groupingRulesDTO) {
@@ -47,10 +71,14 @@ public class GroupingRulesService {
                 .build();
 
         groupingRulesRepository.save(groupingRule);
+        evictMatcher(userId);
     }
 
     public void deleteGroupingRule(Long id) {
+        Optional<GroupingRules> rule = groupingRulesRepository.findById(id);
         groupingRulesRepository.deleteById(id);
+        // After the delete, so a matcher compiled in between cannot keep the deleted rule.
+        rule.ifPresent(deleted -> evictMatcher(deleted.getUser() != null ? deleted.getUser().getId() : null));
     }
 
     public void updateGroupingRule(Long id, GroupingRulesDTO groupingRulesDTO) {
@@ -61,6 +89,7 @@ public class GroupingRulesService {
         groupingRule.setIsActive(groupingRulesDTO.isActive());
 
         groupingRulesRepository.save(groupingRule);
+        evictMatcher(groupingRule.getUser() != null ? groupingRule.getUser().getId() : null);
     }
 
     public List<GroupingRulesDTO> getAllGroupingRules() {
@@ -74,4 +103,48 @@ public class GroupingRulesService {
                 ))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the compiled matcher for the user's active rules, compiling and caching it on a miss.
+     */
+    public GroupingRulesMatcher getMatcher(Long userId) {
+        long generation;
+        synchronized (matcherCache) {
+            GroupingRulesMatcher cached = matcherCache.get(userId);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+            generation = cacheGeneration.get();
+        }
+        cacheMisses.incrementAndGet();
+
+        GroupingRulesMatcher matcher =
+                new GroupingRulesMatcher(groupingRulesRepository.findByUserIdAndIsActive(userId, true));
+        synchronized (matcherCache) {
+            if (cacheGeneration.get() == generation) {
+                matcherCache.put(userId, matcher);
+            }
+        }
+        return matcher;
+    }
+
+    public void evictMatcher(Long userId) {
+        synchronized (matcherCache) {
+            cacheGeneration.incrementAndGet();
+            if (userId == null) {
+                matcherCache.clear();
+            } else {
+                matcherCache.remove(userId);
+            }
+        }
+    }
+
+    public GroupingRulesCacheStatsDTO getCacheStats(String adminToken) {
+        // The cache holds matchers for every user, so its stats are for operators only.
+        adminTokenVerifier.check(adminToken);
+        synchronized (matcherCache) {
+            return new GroupingRulesCacheStatsDTO(matcherCache.size(), maxCachedUsers, cacheHits.get(), cacheMisses.get());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.transaction;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * ISO 20022 CAMT account statements and notifications (camt.052, camt.053, camt.054) as
+ * exported by all Estonian banks.
+ */
+public class CamtStatementFormat implements StatementFormat {
+
+    private static final String NAMESPACE_PREFIX = "urn:iso:std:iso:20022:tech:xsd:camt.05";
+
+    private final XMLInputFactory inputFactory;
+
+    public CamtStatementFormat() {
+        inputFactory = XMLInputFactory.newFactory();
+        // Statements come from users, so no DTDs and no external entities.
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public String getName() {
+        return "CAMT_XML";
+    }
+
+    @Override
+    public boolean matches(String head) {
+        return head.stripLeading().startsWith("<") && head.contains(NAMESPACE_PREFIX);
+    }
+
+    @Override
+    public StatementReader<?> open(BufferedReader reader) throws IOException {
+        try {
+            return new CamtStatementReader(inputFactory.createXMLStreamReader(reader));
+        } catch (XMLStreamException e) {
+            throw new InvalidStatementException("Invalid CAMT statement: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.transaction;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Streams the Ntry elements of a CAMT statement with StAX, so only one entry is held in
+ * memory at a time. Reading collects the raw text of the fields the import uses; converting
+ * it happens in {@link #parse} on the parsing threads.
+ */
+class CamtStatementReader implements StatementReader<CamtStatementReader.Entry> {
+
+    record Entry(
+            long number,
+            String amount,
+            String creditDebit,
+            String bookingDate,
+            String valueDate,
+            String creditorName,
+            String debtorName,
+            String remittanceInformation,
+            String additionalInformation
+    ) {}
+
+    private final XMLStreamReader xml;
+    private long entryNumber;
+
+    CamtStatementReader(XMLStreamReader xml) {
+        this.xml = xml;
+    }
+
+    @Override
+    public Entry next() throws IOException {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Ntry".equals(xml.getLocalName())) {
+                    entryNumber++;
+                    return readEntry();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new InvalidStatementException("Invalid CAMT statement: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long recordNumber() {
+        return entryNumber;
+    }
+
+    /**
+     * Reads up to the closing Ntry tag. Batch entries can carry several transaction details;
+     * the first related party name and remittance line are used.
+     */
+    private Entry readEntry() throws XMLStreamException {
+        String amount = null, creditDebit = null, bookingDate = null, valueDate = null;
+        String creditorName = null, debtorName = null, remittance = null, additionalInformation = null;
+        // Element names below Ntry, innermost first.
+        Deque<String> path = new ArrayDeque<>();
+
+        while (true) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                if (path.isEmpty()) {
+                    return new Entry(entryNumber, amount, creditDebit, bookingDate, valueDate,
+                            creditorName, debtorName, remittance, additionalInformation);
+                }
+                path.pop();
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String parent = path.peek();
+                String name = xml.getLocalName();
+                boolean topLevel = path.isEmpty();
+                path.push(name);
+
+                String text = null;
+                if (topLevel && (name.equals("Amt") || name.equals("CdtDbtInd") || name.equals("AddtlNtryInf"))) {
+                    text = readText(path);
+                    switch (name) {
+                        case "Amt" -> amount = text;
+                        case "CdtDbtInd" -> creditDebit = text;
+                        default -> additionalInformation = text;
+                    }
+                } else if ((name.equals("Dt") || name.equals("DtTm")) && path.size() == 2) {
+                    if ("BookgDt".equals(parent)) {
+                        bookingDate = readText(path);
+                    } else if ("ValDt".equals(parent)) {
+                        valueDate = readText(path);
+                    }
+                } else if (name.equals("Nm") && path.contains("RltdPties")) {
+                    if (creditorName == null && path.contains("Cdtr")) {
+                        creditorName = readText(path);
+                    } else if (debtorName == null && path.contains("Dbtr")) {
+                        debtorName = readText(path);
+                    }
+                } else if (name.equals("Ustrd") && remittance == null) {
+                    remittance = readText(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element, which also consumes its end tag.
+     */
+    private String readText(Deque<String> path) throws XMLStreamException {
+        String text = xml.getElementText().strip();
+        path.pop();
+        return text;
+    }
+
+    @Override
+    public StatementLine parse(Entry entry) {
+        if (entry.amount() == null) {
+            throw new MalformedRowException(ImportSkipReason.MALFORMED_ROW, "Skipping entry without amount: " + entry.number());
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(entry.amount());
+        } catch (NumberFormatException e) {
+            throw new MalformedRowException(ImportSkipReason.INVALID_AMOUNT, "Invalid amount format: " + entry.amount());
+        }
+
+        String rawDate = entry.bookingDate() != null ? entry.bookingDate() : entry.valueDate();
+        if (rawDate == null) {
+            throw new MalformedRowException(ImportSkipReason.MALFORMED_ROW, "Skipping entry without date: " + entry.number());
+        }
+        LocalDate date;
+        try {
+            // DtTm values start with the date
+            date = LocalDate.parse(rawDate.length() > 10 ? rawDate.substring(0, 10) : rawDate);
+        } catch (DateTimeException e) {
+            throw new MalformedRowException(ImportSkipReason.INVALID_DATE, "Invalid date format: " + rawDate);
+        }
+
+        char debitCredit = switch (entry.creditDebit() == null ? "" : entry.creditDebit()) {
+            case "DBIT" -> 'D';
+            case "CRDT" -> 'C';
+            default -> 0;
+        };
+        // The counterparty of a payment is its creditor, of a receipt its debtor.
+        String counterparty = debitCredit == 'D' ? entry.creditorName() : entry.debtorName();
+        if (counterparty == null) {
+            counterparty = entry.additionalInformation() != null ? entry.additionalInformation() : "";
+        }
+        return new StatementLine(date, counterparty, debitCredit, amount, entry.remittanceInformation());
+    }
+}
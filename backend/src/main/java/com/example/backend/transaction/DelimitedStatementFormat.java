@@ -0,0 +1,130 @@
+package com.example.backend.transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A CSV statement export recognised by its column headers. The column positions and the
+ * separator (';' or ',') are taken from the header row of each file, so exports that add,
+ * drop or reorder columns still import.
+ */
+public class DelimitedStatementFormat implements StatementFormat {
+
+    private final String name;
+    private final String dateHeader;
+    private final String counterpartyHeader;
+    private final String debitCreditHeader;
+    private final String amountHeader;
+    private final String descriptionHeader;
+    private final String rowTypeHeader;
+    private final String transactionRowType;
+
+    private DelimitedStatementFormat(String name, String dateHeader, String counterpartyHeader,
+                                     String debitCreditHeader, String amountHeader, String descriptionHeader,
+                                     String rowTypeHeader, String transactionRowType) {
+        this.name = name;
+        this.dateHeader = dateHeader;
+        this.counterpartyHeader = counterpartyHeader;
+        this.debitCreditHeader = debitCreditHeader;
+        this.amountHeader = amountHeader;
+        this.descriptionHeader = descriptionHeader;
+        this.rowTypeHeader = rowTypeHeader;
+        this.transactionRowType = transactionRowType;
+    }
+
+    /**
+     * The Estonian Banking Association CSV layout, exported by SEB, LHV, Coop Pank and Luminor.
+     */
+    public static DelimitedStatementFormat pangaliit() {
+        return new DelimitedStatementFormat("PANGALIIT_CSV", "Kuupäev", "Saaja/maksja nimi",
+                "Deebet/Kreedit (D/C)", "Summa", "Selgitus", null, null);
+    }
+
+    /**
+     * Swedbank's CSV export. Besides transactions (row type 20) it holds opening balance,
+     * turnover and closing balance rows.
+     */
+    public static DelimitedStatementFormat swedbank() {
+        return new DelimitedStatementFormat("SWEDBANK_CSV", "Kuupäev", "Saaja/Maksja",
+                "Deebet/Kreedit", "Summa", "Selgitus", "Reatüüp", "20");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean matches(String head) {
+        int end = head.indexOf('\n');
+        return columnsOf(end >= 0 ? head.substring(0, end) : head) != null;
+    }
+
+    @Override
+    public StatementReader<?> open(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        StatementColumns columns = header != null ? columnsOf(header) : null;
+        if (columns == null) {
+            throw new InvalidStatementException("The file is not a " + name + " statement");
+        }
+        return new DelimitedStatementReader(reader, new StatementLineParser(columns));
+    }
+
+    /**
+     * Resolves the column positions from a header row, or returns null when a required
+     * column is missing.
+     */
+    private StatementColumns columnsOf(String header) {
+        char separator = count(header, ';') >= count(header, ',') ? ';' : ',';
+        List<String> headers = splitHeader(header, separator);
+        int date = indexOf(headers, dateHeader);
+        int counterparty = indexOf(headers, counterpartyHeader);
+        int debitCredit = indexOf(headers, debitCreditHeader);
+        int amount = indexOf(headers, amountHeader);
+        int rowType = rowTypeHeader != null ? indexOf(headers, rowTypeHeader) : -1;
+        if (date < 0 || counterparty < 0 || debitCredit < 0 || amount < 0 || (rowTypeHeader != null && rowType < 0)) {
+            return null;
+        }
+        return new StatementColumns(separator, date, counterparty, debitCredit, amount,
+                indexOf(headers, descriptionHeader), rowType, transactionRowType);
+    }
+
+    private static List<String> splitHeader(String header, char separator) {
+        List<String> headers = new ArrayList<>();
+        int start = 0;
+        while (start <= header.length()) {
+            int end = header.indexOf(separator, start);
+            if (end < 0) {
+                end = header.length();
+            }
+            String cell = header.substring(start, end).strip();
+            if (cell.length() >= 2 && cell.startsWith("\"") && cell.endsWith("\"")) {
+                cell = cell.substring(1, cell.length() - 1).strip();
+            }
+            headers.add(cell);
+            start = end + 1;
+        }
+        return headers;
+    }
+
+    private static int indexOf(List<String> headers, String name) {
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int count(String text, char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
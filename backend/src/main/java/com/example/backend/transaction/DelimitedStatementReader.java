@@ -0,0 +1,39 @@
+package com.example.backend.transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class DelimitedStatementReader implements StatementReader<String> {
+
+    private final BufferedReader reader;
+    private final StatementLineParser parser;
+    private long lineNumber;
+
+    /**
+     * Wraps a reader that has already consumed the header line.
+     */
+    DelimitedStatementReader(BufferedReader reader, StatementLineParser parser) {
+        this.reader = reader;
+        this.parser = parser;
+        this.lineNumber = 1;
+    }
+
+    @Override
+    public String next() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    @Override
+    public long recordNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public StatementLine parse(String record) {
+        return parser.parse(record);
+    }
+}
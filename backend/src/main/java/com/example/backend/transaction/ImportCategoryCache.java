@@ -0,0 +1,61 @@
+package com.example.backend.transaction;
+
+import com.example.backend.category.Category;
+import com.example.backend.category.CategoryRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Name to category lookups for a single import. Names are resolved per batch with one
+ * IN query, and categories that do not exist yet are created together with one saveAll.
+ */
+class ImportCategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final Long userId;
+    private final Map<String, Category> categoriesByName = new HashMap<>();
+
+    ImportCategoryCache(CategoryRepository categoryRepository, Long userId) {
+        this.categoryRepository = categoryRepository;
+        this.userId = userId;
+    }
+
+    Category get(String name) {
+        return categoriesByName.get(name);
+    }
+
+    void resolveAll(Collection<String> names) {
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null && !categoriesByName.containsKey(name)) {
+                unresolved.add(name);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        for (Category existing : categoryRepository.findByNameIn(unresolved)) {
+            categoriesByName.putIfAbsent(existing.getName(), existing);
+        }
+
+        List<Category> missing = unresolved.stream()
+                .filter(name -> !categoriesByName.containsKey(name))
+                .map(name -> {
+                    Category newCategory = new Category();
+                    newCategory.setName(name);
+                    newCategory.setUserId(userId);
+                    newCategory.setGlobal(false);
+                    return newCategory;
+                })
+                .toList();
+        if (!missing.isEmpty()) {
+            categoryRepository.saveAll(missing).forEach(created -> categoriesByName.put(created.getName(), created));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.transaction;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * State of one background import. Written by the worker thread, read by status requests.
+ */
+class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final ImportReport report = new ImportReport();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    ImportJob(Long userId) {
+        this.userId = userId;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    ImportReport getReport() {
+        return report;
+    }
+
+    ImportJobStatus getStatus() {
+        return status;
+    }
+
+    Instant getStartedAt() {
+        return startedAt;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = ImportJobStatus.COMPLETED;
+    }
+
+    void failed(String message) {
+        finishedAt = Instant.now();
+        error = message;
+        status = ImportJobStatus.FAILED;
+    }
+
+    ImportJobDTO toDTO() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = start != null ? Duration.between(start, end).toMillis() / 1000.0 : 0;
+        long rowsProcessed = report.getRowsProcessed();
+        return new ImportJobDTO(
+                id,
+                status,
+                report.getFormat(),
+                rowsProcessed,
+                report.getRowsSkipped(),
+                seconds > 0 ? rowsProcessed / seconds : 0,
+                report.getSkippedByReason(),
+                report.getSamples(),
+                error,
+                createdAt,
+                finishedAt != null ? LocalDateTime.ofInstant(finishedAt, ZoneId.systemDefault()) : null
+        );
+    }
+}
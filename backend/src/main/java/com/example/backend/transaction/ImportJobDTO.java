@@ -0,0 +1,19 @@
+package com.example.backend.transaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record ImportJobDTO(
+        String jobId,
+        ImportJobStatus status,
+        String format,
+        long rowsProcessed,
+        long rowsSkipped,
+        double rowsPerSecond,
+        Map<ImportSkipReason, Long> skippedByReason,
+        List<ImportRowIssueDTO> issues,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
@@ -0,0 +1,110 @@
+package com.example.backend.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs statement imports as background jobs on the bounded import executor and keeps their
+ * progress around for status polling until the retention period has passed.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final TransactionImportService transactionImportService;
+    private final Executor importJobExecutor;
+    private final ImportMetrics importMetrics;
+    private final Duration jobRetention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(TransactionImportService transactionImportService,
+                            @Qualifier("importJobExecutor") Executor importJobExecutor,
+                            ImportMetrics importMetrics,
+                            @Value("${transaction.import.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.transactionImportService = transactionImportService;
+        this.importJobExecutor = importJobExecutor;
+        this.importMetrics = importMetrics;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    }
+
+    /**
+     * Spools the upload to a temporary file (the multipart content does not outlive the
+     * request) and queues the import. Returns the queued job right away.
+     */
+    public ImportJobDTO submit(MultipartFile file, Long userId) throws IOException {
+        pruneFinishedJobs();
+
+        Path tempFile = Files.createTempFile("statement-import-", ".csv");
+        ImportJob job = new ImportJob(userId);
+        try {
+            file.transferTo(tempFile);
+            jobs.put(job.getId(), job);
+            importJobExecutor.execute(() -> run(job, tempFile));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(tempFile);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, try again later");
+        } catch (IOException | RuntimeException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getJob(String jobId, Long userId) {
+        ImportJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden.
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found");
+        }
+        return job.toDTO();
+    }
+
+    private void run(ImportJob job, Path tempFile) {
+        job.started();
+        try {
+            transactionImportService.importFile(tempFile, job.getUserId(), job.getReport());
+            job.completed();
+        } catch (InvalidStatementException e) {
+            job.failed(e.getMessage());
+        } catch (Exception e) {
+            // Driver and SQL messages stay in the server log; the user polling the job gets a generic one.
+            log.error("Import job {} of user {} failed", job.getId(), job.getUserId(), e);
+            job.failed("The import failed, please try again later");
+        } finally {
+            importMetrics.recordJob(job.getReport(), job.getStatus() == ImportJobStatus.COMPLETED, job.getStartedAt(), job.getFinishedAt());
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // The file lives in the temp directory, so the OS cleans it up eventually.
+            }
+        }
+    }
+
+    public ImportStatsDTO getStats() {
+        return importMetrics.getStats();
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
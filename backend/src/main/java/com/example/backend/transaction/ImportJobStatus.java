@@ -0,0 +1,5 @@
+package com.example.backend.transaction;
+
+public enum ImportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
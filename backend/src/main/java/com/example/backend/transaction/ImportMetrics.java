@@ -0,0 +1,53 @@
+package com.example.backend.transaction;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Totals over all finished import jobs since startup, fed once per job from its report.
+ */
+@Component
+public class ImportMetrics {
+
+    private static final ImportSkipReason[] REASONS = ImportSkipReason.values();
+
+    private final AtomicLong jobsCompleted = new AtomicLong();
+    private final AtomicLong jobsFailed = new AtomicLong();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLongArray rowsSkipped = new AtomicLongArray(REASONS.length);
+    private final AtomicLong busyMillis = new AtomicLong();
+
+    void recordJob(ImportReport report, boolean completed, Instant startedAt, Instant finishedAt) {
+        (completed ? jobsCompleted : jobsFailed).incrementAndGet();
+        rowsProcessed.addAndGet(report.getRowsProcessed());
+        rowsImported.addAndGet(report.getRowsImported());
+        report.getSkippedByReason().forEach((reason, count) -> rowsSkipped.addAndGet(reason.ordinal(), count));
+        if (startedAt != null) {
+            busyMillis.addAndGet(Duration.between(startedAt, finishedAt).toMillis());
+        }
+    }
+
+    public ImportStatsDTO getStats() {
+        Map<ImportSkipReason, Long> skipped = new EnumMap<>(ImportSkipReason.class);
+        for (ImportSkipReason reason : REASONS) {
+            skipped.put(reason, rowsSkipped.get(reason.ordinal()));
+        }
+        long processed = rowsProcessed.get();
+        long millis = busyMillis.get();
+        return new ImportStatsDTO(
+                jobsCompleted.get(),
+                jobsFailed.get(),
+                processed,
+                rowsImported.get(),
+                skipped,
+                millis > 0 ? processed * 1000.0 / millis : 0
+        );
+    }
+}
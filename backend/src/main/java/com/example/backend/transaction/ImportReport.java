@@ -0,0 +1,95 @@
+package com.example.backend.transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Outcome of one import, safe to update from the parsing threads and to read while the
+ * import is still going. Skipped rows are counted per reason; only the first few problem
+ * rows are kept as samples, so the report stays small however bad the file is.
+ */
+public class ImportReport {
+
+    public static final int MAX_SAMPLES = 20;
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final ImportSkipReason[] REASONS = ImportSkipReason.values();
+
+    private volatile String format;
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLongArray skippedByReason = new AtomicLongArray(REASONS.length);
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private final List<ImportRowIssueDTO> samples = Collections.synchronizedList(new ArrayList<>());
+
+    void setFormat(String format) {
+        this.format = format;
+    }
+
+    void rowsProcessed(int rows) {
+        rowsProcessed.addAndGet(rows);
+    }
+
+    void rowSkipped(long lineNumber, MalformedRowException e) {
+        skippedByReason.incrementAndGet(e.getReason().ordinal());
+        if (e.getReason() == ImportSkipReason.NOT_A_TRANSACTION) {
+            return; // Balance and total rows are expected, not problems worth a sample
+        }
+        // Cheap check first so a file full of bad rows does not contend on the list.
+        if (sampleCount.get() < MAX_SAMPLES && sampleCount.incrementAndGet() <= MAX_SAMPLES) {
+            samples.add(new ImportRowIssueDTO(lineNumber, e.getReason(), truncate(e.getMessage())));
+        }
+    }
+
+    void rowsSkipped(ImportSkipReason reason, int rows) {
+        skippedByReason.addAndGet(reason.ordinal(), rows);
+    }
+
+    /**
+     * Name of the detected statement format, null until detection has run.
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long getRowsSkipped() {
+        long skipped = 0;
+        for (int i = 0; i < skippedByReason.length(); i++) {
+            skipped += skippedByReason.get(i);
+        }
+        return skipped;
+    }
+
+    public long getRowsImported() {
+        return getRowsProcessed() - getRowsSkipped();
+    }
+
+    public Map<ImportSkipReason, Long> getSkippedByReason() {
+        Map<ImportSkipReason, Long> counts = new EnumMap<>(ImportSkipReason.class);
+        for (ImportSkipReason reason : REASONS) {
+            long count = skippedByReason.get(reason.ordinal());
+            if (count > 0) {
+                counts.put(reason, count);
+            }
+        }
+        return counts;
+    }
+
+    public List<ImportRowIssueDTO> getSamples() {
+        synchronized (samples) {
+            return List.copyOf(samples);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.transaction;
+
+public record ImportRowIssueDTO(
+        long lineNumber,
+        ImportSkipReason reason,
+        String message
+) {}
@@ -0,0 +1,5 @@
+package com.example.backend.transaction;
+
+public enum ImportSkipReason {
+    MALFORMED_ROW, INVALID_AMOUNT, INVALID_DATE, DUPLICATE, NOT_A_TRANSACTION
+}
@@ -0,0 +1,12 @@
+package com.example.backend.transaction;
+
+import java.util.Map;
+
+public record ImportStatsDTO(
+        long jobsCompleted,
+        long jobsFailed,
+        long rowsProcessed,
+        long rowsImported,
+        Map<ImportSkipReason, Long> rowsSkippedByReason,
+        double averageRowsPerSecond
+) {}
@@ -0,0 +1,7 @@
+package com.example.backend.transaction;
+
+/**
+ * A parsed import line. categoryName is set when no grouping rule matched and the
+ * category still has to be looked up by name.
+ */
+record ImportedRow(Transaction transaction, String categoryName) {}
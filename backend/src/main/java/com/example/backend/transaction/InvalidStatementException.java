@@ -0,0 +1,16 @@
+package com.example.backend.transaction;
+
+/**
+ * Thrown when an uploaded file cannot be read as a statement at all, as opposed to a single
+ * bad row. The message is written for the user and is shown on the failed import job.
+ */
+public class InvalidStatementException extends IllegalArgumentException {
+
+    public InvalidStatementException(String message) {
+        super(message);
+    }
+
+    public InvalidStatementException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.transaction;
+
+/**
+ * Thrown for a statement row that cannot be imported. Rows are skipped, not fatal, so the
+ * exception carries no stack trace to keep bad files cheap to import.
+ */
+public class MalformedRowException extends RuntimeException {
+
+    private final ImportSkipReason reason;
+
+    public MalformedRowException(ImportSkipReason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    public ImportSkipReason getReason() {
+        return reason;
+    }
+}
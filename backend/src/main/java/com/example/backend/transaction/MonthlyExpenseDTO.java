@@ -3,6 +3,7 @@ package com.example.backend.transaction;
 import java.math.BigDecimal;
 
 public record MonthlyExpenseDTO(
-        int month, // Only the month number
+        int year,
+        int month,
         BigDecimal totalExpense
-) {}
\ No newline at end of file
+) {}
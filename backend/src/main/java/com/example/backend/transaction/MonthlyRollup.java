@@ -0,0 +1,50 @@
+package com.example.backend.transaction;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated transaction totals per user, month, type and category. Kept up to date
+ * with deltas by MonthlyRollupService whenever transactions change.
+ */
+@Entity
+@Table(name = "kuu_kokkuvotted", uniqueConstraints = @UniqueConstraint(
+        name = "ux_kuu_kokkuvotted_key",
+        columnNames = {"user_id", "period_year", "period_month", "transaction_type", "category_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period_year", nullable = false)
+    private int periodYear;
+
+    @Column(name = "period_month", nullable = false)
+    private int periodMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    // 0 for transactions without a category, so the unique key holds no NULLs.
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "total_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
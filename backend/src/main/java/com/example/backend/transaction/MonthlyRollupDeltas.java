@@ -0,0 +1,71 @@
+package com.example.backend.transaction;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects rollup changes in memory so that many transaction changes touching the same
+ * month and category become a single upsert.
+ */
+public class MonthlyRollupDeltas {
+
+    record Key(Long userId, int year, int month, TransactionType transactionType, long categoryId) {}
+
+    static final class Delta {
+        private final Key key;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        private Delta(Key key) {
+            this.key = key;
+        }
+
+        Key key() {
+            return key;
+        }
+
+        BigDecimal amount() {
+            return amount;
+        }
+
+        long count() {
+            return count;
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    private final Map<Key, Delta> deltas = new HashMap<>();
+
+    public void add(Transaction transaction) {
+        apply(transaction, 1);
+    }
+
+    public void remove(Transaction transaction) {
+        apply(transaction, -1);
+    }
+
+    public boolean isEmpty() {
+        return deltas.values().stream().allMatch(Delta::isZero);
+    }
+
+    Collection<Delta> values() {
+        return deltas.values();
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        Key key = new Key(
+                transaction.getUserId(),
+                transaction.getTransactionDate().getYear(),
+                transaction.getTransactionDate().getMonthValue(),
+                transaction.getTransactionType(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : 0L);
+        Delta delta = deltas.computeIfAbsent(key, Delta::new);
+        delta.amount = sign > 0 ? delta.amount.add(transaction.getAmount()) : delta.amount.subtract(transaction.getAmount());
+        delta.count += sign;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backend.transaction;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Months are passed as year * 12 + month, so a range of months is one BETWEEN. Months whose
+ * transactions have all been deleted keep zero rows in the rollup and are left out.
+ */
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlyIncomeDTO(r.periodYear, r.periodMonth, SUM(r.totalAmount))
+            FROM MonthlyRollup r
+            WHERE r.userId = :userId AND r.transactionType = com.example.backend.transaction.TransactionType.INCOME
+                AND r.periodYear * 12 + r.periodMonth BETWEEN :fromMonth AND :toMonth
+            GROUP BY r.periodYear, r.periodMonth
+            HAVING SUM(r.transactionCount) > 0
+            ORDER BY r.periodYear, r.periodMonth
+            """)
+    List<MonthlyIncomeDTO> sumIncomesByMonth(@Param("userId") Long userId,
+                                             @Param("fromMonth") int fromMonth,
+                                             @Param("toMonth") int toMonth);
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlyExpenseDTO(r.periodYear, r.periodMonth, SUM(r.totalAmount))
+            FROM MonthlyRollup r
+            WHERE r.userId = :userId AND r.transactionType = com.example.backend.transaction.TransactionType.EXPENSE
+                AND r.periodYear * 12 + r.periodMonth BETWEEN :fromMonth AND :toMonth
+            GROUP BY r.periodYear, r.periodMonth
+            HAVING SUM(r.transactionCount) > 0
+            ORDER BY r.periodYear, r.periodMonth
+            """)
+    List<MonthlyExpenseDTO> sumExpensesByMonth(@Param("userId") Long userId,
+                                               @Param("fromMonth") int fromMonth,
+                                               @Param("toMonth") int toMonth);
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlySummaryDTO(
+                r.periodYear,
+                r.periodMonth,
+                SUM(CASE WHEN r.transactionType = com.example.backend.transaction.TransactionType.INCOME THEN r.totalAmount ELSE 0 END),
+                SUM(CASE WHEN r.transactionType = com.example.backend.transaction.TransactionType.EXPENSE THEN r.totalAmount ELSE 0 END))
+            FROM MonthlyRollup r
+            WHERE r.userId = :userId AND r.periodYear * 12 + r.periodMonth BETWEEN :fromMonth AND :toMonth
+            GROUP BY r.periodYear, r.periodMonth
+            HAVING SUM(r.transactionCount) > 0
+            ORDER BY r.periodYear, r.periodMonth
+            """)
+    List<MonthlySummaryDTO> sumMonthlySummary(@Param("userId") Long userId,
+                                              @Param("fromMonth") int fromMonth,
+                                              @Param("toMonth") int toMonth);
+}
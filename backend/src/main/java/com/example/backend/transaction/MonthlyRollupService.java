@@ -0,0 +1,142 @@
+package com.example.backend.transaction;
+
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the kuu_kokkuvotted rollup and answers month-aligned aggregate queries from it.
+ * <p>
+ * Writes are delta upserts, applied in the same database transaction as the change to
+ * tehingud. The first read for a user after startup compares the rollup's transaction count
+ * with tehingud and rebuilds the user's rows if they disagree, which also fills the rollup
+ * for data that predates it.
+ */
+@Service
+public class MonthlyRollupService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO kuu_kokkuvotted (user_id, period_year, period_month, transaction_type, category_id,
+                                         total_amount, transaction_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, period_year, period_month, transaction_type, category_id) DO UPDATE
+            SET total_amount = kuu_kokkuvotted.total_amount + EXCLUDED.total_amount,
+                transaction_count = kuu_kokkuvotted.transaction_count + EXCLUDED.transaction_count
+            """;
+
+    private static final String COUNTS_SQL = """
+            SELECT (SELECT COUNT(*) FROM tehingud WHERE user_id = ?)
+                 - (SELECT COALESCE(SUM(transaction_count), 0) FROM kuu_kokkuvotted WHERE user_id = ?)
+            """;
+
+    private static final String DELETE_USER_SQL = "DELETE FROM kuu_kokkuvotted WHERE user_id = ?";
+
+    // ON CONFLICT keeps a rebuild racing another one for the same user from failing.
+    private static final String REBUILD_USER_SQL = """
+            INSERT INTO kuu_kokkuvotted (user_id, period_year, period_month, transaction_type, category_id,
+                                         total_amount, transaction_count)
+            SELECT user_id, EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date),
+                   transaction_type, COALESCE(category_id, 0), SUM(amount), COUNT(*)
+            FROM tehingud
+            WHERE user_id = ?
+            GROUP BY user_id, EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date),
+                     transaction_type, COALESCE(category_id, 0)
+            ON CONFLICT (user_id, period_year, period_month, transaction_type, category_id) DO UPDATE
+            SET total_amount = EXCLUDED.total_amount,
+                transaction_count = EXCLUDED.transaction_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final Set<Long> verifiedUsers = ConcurrentHashMap.newKeySet();
+
+    public MonthlyRollupService(JdbcTemplate jdbcTemplate, MonthlyRollupRepository monthlyRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+    }
+
+    public void recordAdded(Transaction transaction) {
+        MonthlyRollupDeltas deltas = new MonthlyRollupDeltas();
+        deltas.add(transaction);
+        apply(deltas);
+    }
+
+    public void recordRemoved(Transaction transaction) {
+        MonthlyRollupDeltas deltas = new MonthlyRollupDeltas();
+        deltas.remove(transaction);
+        apply(deltas);
+    }
+
+    /**
+     * Writes all collected deltas as one JDBC batch.
+     */
+    public void apply(MonthlyRollupDeltas deltas) {
+        List<MonthlyRollupDeltas.Delta> changes = deltas.values().stream()
+                .filter(delta -> !delta.isZero())
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (ps, delta) -> {
+            MonthlyRollupDeltas.Key key = delta.key();
+            ps.setLong(1, key.userId());
+            ps.setInt(2, key.year());
+            ps.setInt(3, key.month());
+            ps.setString(4, key.transactionType().name());
+            ps.setLong(5, key.categoryId());
+            ps.setObject(6, delta.amount(), Types.NUMERIC);
+            ps.setLong(7, delta.count());
+        });
+    }
+
+    /**
+     * Recomputes the user's rollup rows from tehingud in the database.
+     */
+    @Transactional
+    public void rebuildUser(Long userId) {
+        jdbcTemplate.update(DELETE_USER_SQL, userId);
+        jdbcTemplate.update(REBUILD_USER_SQL, userId);
+        verifiedUsers.add(userId);
+    }
+
+    @Transactional
+    public List<MonthlyIncomeDTO> getIncomesByMonth(Long userId, LocalDate from, LocalDate to) {
+        ensureInitialized(userId);
+        return monthlyRollupRepository.sumIncomesByMonth(userId, monthIndex(from), monthIndex(to));
+    }
+
+    @Transactional
+    public List<MonthlyExpenseDTO> getExpensesByMonth(Long userId, LocalDate from, LocalDate to) {
+        ensureInitialized(userId);
+        return monthlyRollupRepository.sumExpensesByMonth(userId, monthIndex(from), monthIndex(to));
+    }
+
+    @Transactional
+    public List<MonthlySummaryDTO> getMonthlySummary(Long userId, LocalDate from, LocalDate to) {
+        ensureInitialized(userId);
+        return monthlyRollupRepository.sumMonthlySummary(userId, monthIndex(from), monthIndex(to));
+    }
+
+    // Called inside the read's transaction, so a rebuild is atomic for other readers.
+    private void ensureInitialized(Long userId) {
+        if (verifiedUsers.contains(userId)) {
+            return;
+        }
+        Long missing = jdbcTemplate.queryForObject(COUNTS_SQL, Long.class, userId, userId);
+        if (missing != null && missing != 0) {
+            rebuildUser(userId);
+        } else {
+            verifiedUsers.add(userId);
+        }
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue();
+    }
+}
@@ -3,7 +3,8 @@ package com.example.backend.transaction;
 import java.math.BigDecimal;
 
 public record MonthlySummaryDTO(
+        int year,
         int month,
         BigDecimal totalIncome,
         BigDecimal totalExpense
-) {}
\ No newline at end of file
+) {}
@@ -0,0 +1,16 @@
+package com.example.backend.transaction;
+
+import java.time.LocalDateTime;
+
+public record RollupVerificationDTO(
+        boolean running,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        long usersChecked,
+        long usersRepaired,
+        long usersFailed,
+        long transactionsScanned,
+        long driftedRows,
+        double transactionsPerSecond,
+        String error
+) {}
@@ -0,0 +1,63 @@
+package com.example.backend.transaction;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one rollup verification run. Updated by the per-user workers, read by status
+ * requests while the run is still going.
+ */
+class RollupVerificationRun {
+
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong usersChecked = new AtomicLong();
+    private final AtomicLong usersRepaired = new AtomicLong();
+    private final AtomicLong usersFailed = new AtomicLong();
+    private final AtomicLong transactionsScanned = new AtomicLong();
+    private final AtomicLong driftedRows = new AtomicLong();
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    void userChecked(long transactions, long drifted) {
+        usersChecked.incrementAndGet();
+        transactionsScanned.addAndGet(transactions);
+        if (drifted > 0) {
+            usersRepaired.incrementAndGet();
+            driftedRows.addAndGet(drifted);
+        }
+    }
+
+    void userFailed() {
+        usersFailed.incrementAndGet();
+    }
+
+    void finished(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+    }
+
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    RollupVerificationDTO toDTO() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Duration.between(startedAt, end).toMillis();
+        long scanned = transactionsScanned.get();
+        return new RollupVerificationDTO(
+                isRunning(),
+                LocalDateTime.ofInstant(startedAt, ZoneId.systemDefault()),
+                finishedAt != null ? LocalDateTime.ofInstant(finishedAt, ZoneId.systemDefault()) : null,
+                usersChecked.get(),
+                usersRepaired.get(),
+                usersFailed.get(),
+                scanned,
+                driftedRows.get(),
+                millis > 0 ? scanned * 1000.0 / millis : 0,
+                error
+        );
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.transaction;
+
+import com.example.backend.auth.AdminTokenVerifier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks the kuu_kokkuvotted rollup against tehingud and rebuilds the users whose rows have
+ * drifted. Users are processed in keyset pages, each page in parallel on the verification
+ * executor. The comparison is a GROUP BY in the database, so only two numbers per user reach
+ * the application no matter how many transactions the user has.
+ * <p>
+ * Runs nightly and can be started on demand with the admin token.
+ */
+@Service
+public class RollupVerificationService {
+
+    private static final String USER_PAGE_SQL = "SELECT id FROM kasutajad WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Rows of deleted months stay behind with zero totals; they are not drift.
+    private static final String VERIFY_USER_SQL = """
+            WITH actual AS (
+                SELECT CAST(EXTRACT(YEAR FROM transaction_date) AS INTEGER) AS period_year,
+                       CAST(EXTRACT(MONTH FROM transaction_date) AS INTEGER) AS period_month,
+                       transaction_type, COALESCE(category_id, 0) AS category_id,
+                       SUM(amount) AS total_amount, COUNT(*) AS transaction_count
+                FROM tehingud
+                WHERE user_id = ?
+                GROUP BY 1, 2, 3, 4
+            ), stored AS (
+                SELECT period_year, period_month, transaction_type, category_id, total_amount, transaction_count
+                FROM kuu_kokkuvotted
+                WHERE user_id = ? AND NOT (transaction_count = 0 AND total_amount = 0)
+            )
+            SELECT (SELECT COALESCE(SUM(transaction_count), 0) FROM actual),
+                   (SELECT COUNT(*)
+                    FROM actual a
+                    FULL OUTER JOIN stored s
+                        ON a.period_year = s.period_year AND a.period_month = s.period_month
+                        AND a.transaction_type = s.transaction_type AND a.category_id = s.category_id
+                    WHERE a.total_amount IS DISTINCT FROM s.total_amount
+                        OR a.transaction_count IS DISTINCT FROM s.transaction_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MonthlyRollupService monthlyRollupService;
+    private final Executor rollupVerificationExecutor;
+    private final TaskScheduler taskScheduler;
+    private final int pageSize;
+    private final AdminTokenVerifier adminTokenVerifier;
+    private final AtomicReference<RollupVerificationRun> lastRun = new AtomicReference<>();
+
+    public RollupVerificationService(JdbcTemplate jdbcTemplate,
+                                     MonthlyRollupService monthlyRollupService,
+                                     @Qualifier("rollupVerificationExecutor") Executor rollupVerificationExecutor,
+                                     TaskScheduler taskScheduler,
+                                     @Value("${transaction.rollup.verify-page-size:200}") int pageSize,
+                                     AdminTokenVerifier adminTokenVerifier) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthlyRollupService = monthlyRollupService;
+        this.rollupVerificationExecutor = rollupVerificationExecutor;
+        this.taskScheduler = taskScheduler;
+        this.pageSize = pageSize;
+        this.adminTokenVerifier = adminTokenVerifier;
+    }
+
+    @Scheduled(cron = "${transaction.rollup.verify-cron:0 30 3 * * *}")
+    public void runScheduled() {
+        RollupVerificationRun run = begin();
+        if (run != null) {
+            verifyAll(run);
+        }
+    }
+
+    /**
+     * Starts a run in the background and returns its initial state. Fails with 409 while
+     * another run is still going.
+     */
+    public RollupVerificationDTO start(String token) {
+        adminTokenVerifier.check(token);
+        RollupVerificationRun run = begin();
+        if (run == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rollup verification is already running");
+        }
+        taskScheduler.schedule(() -> verifyAll(run), Instant.now());
+        return run.toDTO();
+    }
+
+    public RollupVerificationDTO getLastRun(String token) {
+        adminTokenVerifier.check(token);
+        RollupVerificationRun run = lastRun.get();
+        if (run == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Rollup verification has not run yet");
+        }
+        return run.toDTO();
+    }
+
+    private RollupVerificationRun begin() {
+        RollupVerificationRun current = lastRun.get();
+        if (current != null && current.isRunning()) {
+            return null;
+        }
+        RollupVerificationRun run = new RollupVerificationRun();
+        return lastRun.compareAndSet(current, run) ? run : null;
+    }
+
+    private void verifyAll(RollupVerificationRun run) {
+        String error = null;
+        try {
+            long lastUserId = 0;
+            List<Long> userIds;
+            do {
+                userIds = jdbcTemplate.queryForList(USER_PAGE_SQL, Long.class, lastUserId, pageSize);
+                CompletableFuture.allOf(userIds.stream()
+                        .map(userId -> CompletableFuture.runAsync(() -> verifyUser(run, userId), rollupVerificationExecutor))
+                        .toArray(CompletableFuture[]::new))
+                        .join();
+                if (!userIds.isEmpty()) {
+                    lastUserId = userIds.get(userIds.size() - 1);
+                }
+            } while (userIds.size() == pageSize);
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+        } finally {
+            run.finished(error);
+        }
+    }
+
+    private void verifyUser(RollupVerificationRun run, Long userId) {
+        try {
+            long[] result = jdbcTemplate.queryForObject(VERIFY_USER_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, userId, userId);
+            if (result[1] > 0) {
+                monthlyRollupService.rebuildUser(userId);
+            }
+            run.userChecked(result[0], result[1]);
+        } catch (RuntimeException e) {
+            // One user failing must not stop the others; the next run retries it.
+            run.userFailed();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.transaction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fingerprints of imported statement rows, used to recognise rows that an earlier upload
+ * already stored. The fingerprint hashes the date, signed amount, counterparty and payment
+ * description.
+ * <p>
+ * A statement can legitimately hold identical rows (two coffees at the same place on the
+ * same day), so the n-th repeat of a fingerprint within one file gets an "-n" suffix.
+ * Uploading the same or an overlapping statement again produces the same suffixes.
+ * One instance covers one import.
+ * <p>
+ * Identical rows share their date, so the repeat counters are kept per date, and only for
+ * the last {@value #TRACKED_DATES} dates of the file. Statements are ordered by date, in
+ * either direction, so a date is finished once the file has moved that far past it, and
+ * memory stays bounded by the rows of a few days instead of growing with the file.
+ */
+public class RowFingerprints {
+
+    // Leaves room for statements that list a booking a few days out of order.
+    static final int TRACKED_DATES = 7;
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    // Least recently seen date first, so the date the file has left behind longest goes first.
+    private final Map<LocalDate, Map<String, Integer>> occurrencesByDate = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, Map<String, Integer>> eldest) {
+            return size() > TRACKED_DATES;
+        }
+    };
+
+    /**
+     * Fingerprint of the row contents alone. Safe to call from the parallel parsing threads.
+     */
+    static String of(StatementLine line, BigDecimal signedAmount) {
+        String material = line.transactionDate() + String.valueOf(FIELD_SEPARATOR)
+                + signedAmount.stripTrailingZeros().toPlainString() + FIELD_SEPARATOR
+                + nullToEmpty(line.counterpartyName()) + FIELD_SEPARATOR
+                + nullToEmpty(line.description());
+        MessageDigest digest = SHA_256.get();
+        return HexFormat.of().formatHex(digest.digest(material.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns the fingerprint to store for the next row with the given date and content
+     * fingerprint. Must be called in file order.
+     */
+    public String next(LocalDate transactionDate, String contentFingerprint) {
+        Map<String, Integer> occurrences = occurrencesByDate.get(transactionDate);
+        if (occurrences == null) {
+            occurrences = new HashMap<>();
+            occurrencesByDate.put(transactionDate, occurrences);
+        }
+        int occurrence = occurrences.merge(contentFingerprint, 1, Integer::sum);
+        return occurrence == 1 ? contentFingerprint : contentFingerprint + "-" + occurrence;
+    }
+
+    /**
+     * Number of fingerprints whose repeat counters are currently held.
+     */
+    public int trackedFingerprints() {
+        return occurrencesByDate.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
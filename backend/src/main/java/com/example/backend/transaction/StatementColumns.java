@@ -0,0 +1,27 @@
+package com.example.backend.transaction;
+
+/**
+ * Where the fields of a delimited statement export live. Column indices are zero based;
+ * -1 marks a column the export does not have. When rowType is set only rows whose row type
+ * equals transactionRowType are transactions, the rest are balances and totals.
+ */
+public record StatementColumns(
+        char separator,
+        int date,
+        int counterparty,
+        int debitCredit,
+        int amount,
+        int description,
+        int rowType,
+        String transactionRowType
+) {
+    /**
+     * The Estonian Banking Association layout, positionally. Used when a file has no
+     * recognisable header.
+     */
+    public static final StatementColumns PANGALIIT = new StatementColumns(';', 2, 4, 7, 8, 11, -1, null);
+
+    int minColumns() {
+        return Math.max(Math.max(date, counterparty), Math.max(Math.max(debitCredit, amount), rowType)) + 1;
+    }
+}
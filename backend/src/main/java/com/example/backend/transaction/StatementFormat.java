@@ -0,0 +1,24 @@
+package com.example.backend.transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A bank statement file format the import can read. Formats are registered as beans and
+ * the import uses the first one that recognises the start of the uploaded file.
+ */
+public interface StatementFormat {
+
+    String getName();
+
+    /**
+     * Returns true when the file starts like this format. head holds the first few
+     * kilobytes of the file without a byte order mark.
+     */
+    boolean matches(String head);
+
+    /**
+     * Opens the statement for reading. The reader is positioned at the start of the file.
+     */
+    StatementReader<?> open(BufferedReader reader) throws IOException;
+}
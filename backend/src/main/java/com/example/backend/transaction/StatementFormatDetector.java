@@ -0,0 +1,76 @@
+package com.example.backend.transaction;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Picks the statement format of an upload by looking at its first few kilobytes.
+ */
+@Component
+public class StatementFormatDetector {
+
+    static final int HEAD_LENGTH = 8192;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    // Files whose header nothing recognises are read positionally, as every import used to be.
+    private static final StatementFormat POSITIONAL_FALLBACK = new StatementFormat() {
+        @Override
+        public String getName() {
+            return "PANGALIIT_CSV_POSITIONAL";
+        }
+
+        @Override
+        public boolean matches(String head) {
+            return false;
+        }
+
+        @Override
+        public StatementReader<?> open(BufferedReader reader) throws IOException {
+            reader.readLine(); // Skip the header row
+            return new DelimitedStatementReader(reader, StatementLineParser.PANGALIIT);
+        }
+    };
+
+    private final List<StatementFormat> formats;
+
+    public StatementFormatDetector(List<StatementFormat> formats) {
+        this.formats = formats;
+    }
+
+    /**
+     * Returns the format of the statement, or null for an empty file. Leaves the reader at
+     * the start of the file, after any byte order mark.
+     */
+    public StatementFormat detect(BufferedReader reader) throws IOException {
+        reader.mark(HEAD_LENGTH);
+        char[] buffer = new char[HEAD_LENGTH];
+        int length = 0;
+        int read;
+        while (length < HEAD_LENGTH && (read = reader.read(buffer, length, HEAD_LENGTH - length)) > 0) {
+            length += read;
+        }
+        reader.reset();
+        if (length == 0) {
+            return null;
+        }
+        int offset = 0;
+        if (buffer[0] == BYTE_ORDER_MARK) {
+            reader.skip(1);
+            offset = 1;
+        }
+
+        String head = new String(buffer, offset, length - offset);
+        for (StatementFormat format : formats) {
+            if (format.matches(head)) {
+                return format;
+            }
+        }
+        if (head.stripLeading().startsWith("<")) {
+            throw new InvalidStatementException("Unsupported statement format");
+        }
+        return POSITIONAL_FALLBACK;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of one bank statement row that the import uses.
+ * debitCredit is 'D' or 'C' (upper case), or 0 when the column holds anything else.
+ * description is the bank's payment description, or null when the export has none.
+ */
+public record StatementLine(
+        LocalDate transactionDate,
+        String counterpartyName,
+        char debitCredit,
+        BigDecimal amount,
+        String description
+) {}
@@ -0,0 +1,239 @@
+package com.example.backend.transaction;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parser for delimited bank statement exports. The layout of the columns comes from
+ * {@link StatementColumns}; {@link #PANGALIIT} reads the Estonian Banking Association layout
+ * (date in column 2, counterparty name in 4, D/C in 7, amount in 8, and the optional
+ * payment description in 11).
+ * <p>
+ * It scans the line once, remembers only the offsets of the columns it needs, and decodes
+ * dd.MM.yyyy and yyyy-MM-dd dates and two-decimal amounts straight from the characters. No
+ * String[] is built and no intermediate Strings are created for the date and amount. Values
+ * in any other shape fall back to BigDecimal and DateTimeFormatter parsing.
+ * <p>
+ * Debits come out with a positive amount and 'D', whether the export marks them with a D/C
+ * column, a negative amount, or both. Instances are immutable and safe to share between threads.
+ */
+public final class StatementLineParser {
+
+    public static final StatementLineParser PANGALIIT = new StatementLineParser(StatementColumns.PANGALIIT);
+
+    private static final char QUOTE = '"';
+    // Keeps the unscaled amount well inside the range of a long.
+    private static final int MAX_AMOUNT_DIGITS = 17;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final StatementColumns columns;
+    private final int minColumns;
+
+    public StatementLineParser(StatementColumns columns) {
+        this.columns = columns;
+        this.minColumns = columns.minColumns();
+    }
+
+    public StatementLine parse(CharSequence line) {
+        int length = line.length();
+        char separator = columns.separator();
+        int dateStart = 0, dateEnd = 0;
+        int nameStart = 0, nameEnd = 0;
+        boolean nameEscaped = false;
+        int debitCreditStart = 0, debitCreditEnd = 0;
+        int amountStart = 0, amountEnd = 0;
+        int descriptionStart = -1, descriptionEnd = -1;
+        boolean descriptionEscaped = false;
+        int rowTypeStart = 0, rowTypeEnd = 0;
+
+        int column = 0;
+        int pos = 0;
+        while (true) {
+            int start;
+            int end;
+            boolean escaped = false;
+            if (pos < length && line.charAt(pos) == QUOTE) {
+                start = pos + 1;
+                int i = start;
+                while (true) {
+                    if (i >= length) {
+                        throw new MalformedRowException(ImportSkipReason.MALFORMED_ROW, "Skipping malformed row: " + line);
+                    }
+                    if (line.charAt(i) == QUOTE) {
+                        if (i + 1 < length && line.charAt(i + 1) == QUOTE) {
+                            escaped = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                end = i;
+                pos = i + 1;
+                while (pos < length && line.charAt(pos) != separator) {
+                    pos++;
+                }
+            } else {
+                start = pos;
+                while (pos < length && line.charAt(pos) != separator) {
+                    pos++;
+                }
+                end = pos;
+            }
+
+            if (column == columns.date()) {
+                dateStart = start;
+                dateEnd = end;
+            } else if (column == columns.counterparty()) {
+                nameStart = start;
+                nameEnd = end;
+                nameEscaped = escaped;
+            } else if (column == columns.debitCredit()) {
+                debitCreditStart = start;
+                debitCreditEnd = end;
+            } else if (column == columns.amount()) {
+                amountStart = start;
+                amountEnd = end;
+            } else if (column == columns.description()) {
+                descriptionStart = start;
+                descriptionEnd = end;
+                descriptionEscaped = escaped;
+            } else if (column == columns.rowType()) {
+                rowTypeStart = start;
+                rowTypeEnd = end;
+            }
+            column++;
+            if (pos >= length) {
+                break;
+            }
+            pos++; // Step over the separator
+        }
+
+        if (column < minColumns) {
+            throw new MalformedRowException(ImportSkipReason.MALFORMED_ROW, "Skipping malformed row: " + line);
+        }
+        if (columns.rowType() >= 0 && !columns.transactionRowType().contentEquals(line.subSequence(rowTypeStart, rowTypeEnd))) {
+            throw new MalformedRowException(ImportSkipReason.NOT_A_TRANSACTION, "Not a transaction row: " + line);
+        }
+
+        BigDecimal amount = parseAmount(line, amountStart, amountEnd);
+        String counterpartyName = text(line, nameStart, nameEnd, nameEscaped);
+        char debitCredit = debitCreditEnd - debitCreditStart == 1
+                ? Character.toUpperCase(line.charAt(debitCreditStart))
+                : 0;
+        if (debitCredit == 'K') {
+            debitCredit = 'C'; // Kreedit
+        } else if (debitCredit != 'D' && debitCredit != 'C') {
+            debitCredit = 0;
+        }
+        if (amount.signum() < 0 && debitCredit != 'C') {
+            debitCredit = 'D';
+            amount = amount.negate();
+        }
+        LocalDate date = parseDate(line, dateStart, dateEnd);
+        String description = descriptionStart >= 0
+                ? text(line, descriptionStart, descriptionEnd, descriptionEscaped)
+                : null;
+        return new StatementLine(date, counterpartyName, debitCredit, amount, description);
+    }
+
+    static BigDecimal parseAmount(CharSequence line, int start, int end) {
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            negative = line.charAt(i) == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = -1; // -1 until the decimal separator is seen
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fractionDigits >= 0 && ++fractionDigits > 2) {
+                    return parseAmountSlow(line, start, end);
+                }
+                if (++digits > MAX_AMOUNT_DIGITS) {
+                    return parseAmountSlow(line, start, end);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+            } else if ((c == ',' || c == '.') && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseAmountSlow(line, start, end);
+            }
+        }
+        if (digits == 0) {
+            return parseAmountSlow(line, start, end);
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < 2; scale++) {
+            unscaled *= 10;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, 2);
+    }
+
+    private static BigDecimal parseAmountSlow(CharSequence line, int start, int end) {
+        String rawAmount = line.subSequence(start, end).toString().replace(",", ".").trim();
+        try {
+            return new BigDecimal(rawAmount);
+        } catch (NumberFormatException e) {
+            throw new MalformedRowException(ImportSkipReason.INVALID_AMOUNT, "Invalid amount format: " + rawAmount);
+        }
+    }
+
+    static LocalDate parseDate(CharSequence line, int start, int end) {
+        try {
+            return parseDateUnchecked(line, start, end);
+        } catch (DateTimeException e) {
+            throw new MalformedRowException(ImportSkipReason.INVALID_DATE,
+                    "Invalid date format: " + line.subSequence(start, end));
+        }
+    }
+
+    private static LocalDate parseDateUnchecked(CharSequence line, int start, int end) {
+        if (end - start == 10 && line.charAt(start + 2) == '.' && line.charAt(start + 5) == '.') {
+            int day = digits(line, start, 2);
+            int month = digits(line, start + 3, 2);
+            int year = digits(line, start + 6, 4);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        if (end - start == 10 && line.charAt(start + 4) == '-' && line.charAt(start + 7) == '-') {
+            int year = digits(line, start, 4);
+            int month = digits(line, start + 5, 2);
+            int day = digits(line, start + 8, 2);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(line.subSequence(start, end).toString().replace("\"", "").trim(), DATE_FORMAT);
+    }
+
+    private static int digits(CharSequence line, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String text(CharSequence line, int start, int end, boolean escaped) {
+        String value = line.subSequence(start, end).toString();
+        return escaped ? value.replace("\"\"", "\"") : value;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.transaction;
+
+import java.io.IOException;
+
+/**
+ * Streams the records of one opened statement. Reading is split from parsing so the import
+ * can read records on one thread and parse blocks of them in parallel.
+ *
+ * @param <R> the raw record, e.g. a line of a delimited file
+ */
+public interface StatementReader<R> {
+
+    /**
+     * Returns the next raw record, or null at the end of the statement.
+     */
+    R next() throws IOException;
+
+    /**
+     * Position of the record last returned by next: its line in a delimited file, its
+     * entry number in an XML statement.
+     */
+    long recordNumber();
+
+    /**
+     * Turns a raw record into a statement line, throwing MalformedRowException for records
+     * that have to be skipped. Called from several threads at once.
+     */
+    StatementLine parse(R record);
+}
@@ -12,7 +12,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tehingud")
+@Table(name = "tehingud", indexes = {
+        @Index(name = "idx_tehingud_user_type_date", columnList = "user_id, transaction_type, transaction_date"),
+        @Index(name = "idx_tehingud_user_date_id", columnList = "user_id, transaction_date, id"),
+        @Index(name = "idx_tehingud_category_date_amount", columnList = "category_id, transaction_date, amount, user_id"),
+        @Index(name = "ux_tehingud_user_fingerprint", columnList = "user_id, fingerprint", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,6 +46,10 @@ public class Transaction {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    // Set for imported rows only, see RowFingerprints.
+    @Column(length = 80)
+    private String fingerprint;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
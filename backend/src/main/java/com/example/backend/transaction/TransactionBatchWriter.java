@@ -0,0 +1,109 @@
+package com.example.backend.transaction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes imported transactions with one multi-row INSERT per batch. Transaction ids are
+ * IDENTITY columns, which stops Hibernate from batching, so bulk imports bypass the
+ * persistence context. Rows whose fingerprint the user already has are dropped by the unique
+ * index instead of failing the batch, and RETURNING tells which rows were written; batch
+ * update counts cannot, since the driver reports rewritten batches as SUCCESS_NO_INFO.
+ */
+@Component
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tehingud (transaction_type, amount, transaction_date, category_id, description,
+                                  user_id, fingerprint, created_at, updated_at)
+            SELECT r.transaction_type, r.amount, r.transaction_date, r.category_id, r.description,
+                   r.user_id, r.fingerprint, ?, ?
+            FROM unnest(?::varchar[], ?::numeric[], ?::date[], ?::bigint[], ?::varchar[], ?::bigint[], ?::varchar[])
+                AS r (transaction_type, amount, transaction_date, category_id, description, user_id, fingerprint)
+            ON CONFLICT (user_id, fingerprint) DO NOTHING
+            RETURNING user_id, fingerprint
+            """;
+
+    private static final String EXISTING_FINGERPRINTS_SQL =
+            "SELECT fingerprint FROM tehingud WHERE user_id = ? AND fingerprint IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TransactionBatchWriter(JdbcTemplate jdbcTemplate,
+                                  @Value("${transaction.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Inserts the transactions and returns those actually written. A row goes missing when a
+     * concurrent import wrote the same fingerprint after it was checked.
+     */
+    public List<Transaction> insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> inserted = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+            statement.setTimestamp(1, now);
+            statement.setTimestamp(2, now);
+            statement.setArray(3, connection.createArrayOf("varchar", transactions.stream()
+                    .map(transaction -> transaction.getTransactionType().name()).toArray()));
+            statement.setArray(4, connection.createArrayOf("numeric", transactions.stream()
+                    .map(Transaction::getAmount).toArray()));
+            statement.setArray(5, connection.createArrayOf("date", transactions.stream()
+                    .map(transaction -> Date.valueOf(transaction.getTransactionDate())).toArray()));
+            statement.setArray(6, connection.createArrayOf("bigint", transactions.stream()
+                    .map(transaction -> transaction.getCategory() != null ? transaction.getCategory().getId() : null)
+                    .toArray()));
+            statement.setArray(7, connection.createArrayOf("varchar", transactions.stream()
+                    .map(Transaction::getDescription).toArray()));
+            statement.setArray(8, connection.createArrayOf("bigint", transactions.stream()
+                    .map(Transaction::getUserId).toArray()));
+            statement.setArray(9, connection.createArrayOf("varchar", transactions.stream()
+                    .map(Transaction::getFingerprint).toArray()));
+            return statement;
+        }, resultSet -> {
+            inserted.add(resultSet.getLong(1) + ":" + resultSet.getString(2));
+        });
+        if (inserted.size() == transactions.size()) {
+            return transactions;
+        }
+        return transactions.stream()
+                .filter(transaction -> inserted.contains(transaction.getUserId() + ":" + transaction.getFingerprint()))
+                .toList();
+    }
+
+    /**
+     * Returns which of the given fingerprints the user already has, with one query per batch.
+     */
+    public Set<String> findExistingFingerprints(Long userId, List<String> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return Set.of();
+        }
+        String sql = EXISTING_FINGERPRINTS_SQL.formatted(String.join(",", Collections.nCopies(fingerprints.size(), "?")));
+        Object[] args = new Object[fingerprints.size() + 1];
+        args[0] = userId;
+        for (int i = 0; i < fingerprints.size(); i++) {
+            args[i + 1] = fingerprints.get(i);
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, args));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of a transaction that budget totals depend on, copied at the time of the change
+ * so later edits to the entity do not leak into it.
+ */
+public record TransactionChange(
+        Long userId,
+        Long categoryId,
+        LocalDate transactionDate,
+        BigDecimal amount
+) {
+    static TransactionChange of(Transaction transaction) {
+        return new TransactionChange(
+                transaction.getUserId(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+                transaction.getTransactionDate(),
+                transaction.getAmount());
+    }
+}
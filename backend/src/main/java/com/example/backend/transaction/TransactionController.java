@@ -1,25 +1,44 @@
 package com.example.backend.transaction;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/transaction")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 @Value("${transaction.page.default-size:50}") int defaultPageSize,
+                                 @Value("${transaction.page.max-size:500}") int maxPageSize) {
         this.transactionService = transactionService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @GetMapping()
     public ResponseEntity<List<TransactionDTO>> getAllUserTransactions() {
         return ResponseEntity.ok(transactionService.getAllUserTransactions());
     }
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> getUserTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return ResponseEntity.ok(transactionService.getUserTransactionsPage(cursor, pageSize));
+    }
     @GetMapping("/expenses")
     public ResponseEntity<List<TransactionDTO>> getAllUserExpenses() {
         return ResponseEntity.ok(transactionService.getAllUserExpenses());
@@ -29,16 +48,22 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.getAllUserIncomes());
     }
     @GetMapping("/incomesByMonth")
-    public ResponseEntity<List<MonthlyIncomeDTO>> getAllUserIncomesByMonth() {
-        return ResponseEntity.ok(transactionService.getAllUserIncomesByMonth());
+    public ResponseEntity<List<MonthlyIncomeDTO>> getAllUserIncomesByMonth(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(transactionService.getAllUserIncomesByMonth(from, to));
     }
     @GetMapping("/expensesByMonth")
-    public ResponseEntity<List<MonthlyExpenseDTO>> getAllUserExpensesByMonth() {
-        return ResponseEntity.ok(transactionService.getAllUserExpensesByMonth());
+    public ResponseEntity<List<MonthlyExpenseDTO>> getAllUserExpensesByMonth(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(transactionService.getAllUserExpensesByMonth(from, to));
     }
     @GetMapping("/monthlySummary")
-    public ResponseEntity<List<MonthlySummaryDTO>> getAllUserMonthlySummary() {
-        return ResponseEntity.ok(transactionService.getAllUserMonthlySummary());
+    public ResponseEntity<List<MonthlySummaryDTO>> getAllUserMonthlySummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(transactionService.getAllUserMonthlySummary(from, to));
     }
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTransaction(@PathVariable Long id) {
@@ -57,15 +82,48 @@ public class TransactionController {
          return ResponseEntity.noContent().build();
     }
     @PostMapping("/import")
-    public ResponseEntity<String> importTransactions(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> importTransactions(@RequestParam("file") MultipartFile file) {
         try {
-            transactionService.importTransactionsFromCsv(file);
-            return ResponseEntity.ok("Transactions imported successfully");
+            return ResponseEntity.accepted().body(transactionService.importTransactionsFromCsv(file));
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to import transactions: " + e.getMessage());
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(transactionService.exportTransactions(exportFormat));
+    }
+
+    @GetMapping("/import/stats")
+    public ResponseEntity<ImportStatsDTO> getImportStats(
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
+        return ResponseEntity.ok(transactionService.getImportStats(adminToken));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(transactionService.getImportJob(jobId));
+    }
+
+    @PostMapping("/rollup/verification")
+    public ResponseEntity<RollupVerificationDTO> startRollupVerification(
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(transactionService.startRollupVerification(adminToken));
+    }
+
+    @GetMapping("/rollup/verification")
+    public ResponseEntity<RollupVerificationDTO> getRollupVerification(
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
+        return ResponseEntity.ok(transactionService.getRollupVerification(adminToken));
+    }
+
 
 
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.example.backend.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams a user's transactions straight from the database to the response. Rows come from
+ * a server-side cursor inside a read-only transaction (the Postgres driver only honours the
+ * fetch size with auto-commit off) and are written one by one, so memory use does not
+ * depend on how many transactions the user has.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT t.id, t.transaction_type, t.amount, t.transaction_date, c.name AS category_name, t.description
+            FROM tehingud t
+            LEFT JOIN kategooriad c ON c.id = t.category_id
+            WHERE t.user_id = ?
+            ORDER BY t.transaction_date, t.id
+            """;
+    private static final String CSV_HEADER = "id,transactionType,amount,transactionDate,categoryName,description\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transaction.export.fetch-size:500}") int fetchSize) {
+        // A JdbcTemplate of our own, so the fetch size does not leak into other queries.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(Long userId, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            streamRows(userId, rs -> writeCsvRow(writer, rs));
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            generator.setRootValueSeparator(null);
+            streamRows(userId, rs -> writeJsonRow(generator, rs));
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void streamRows(Long userId, RowWriter rowWriter) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    // Usually the client went away; stop reading the cursor.
+                    throw new UncheckedIOException(e);
+                }
+            }, userId));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writer.write(',');
+        writer.write(rs.getString("transaction_type"));
+        writer.write(',');
+        writer.write(rs.getBigDecimal("amount").toPlainString());
+        writer.write(',');
+        writer.write(rs.getDate("transaction_date").toLocalDate().toString());
+        writer.write(',');
+        writeCsvValue(writer, rs.getString("category_name"));
+        writer.write(',');
+        writeCsvValue(writer, rs.getString("description"));
+        writer.write('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonRow(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("transactionType", rs.getString("transaction_type"));
+        generator.writeNumberField("amount", rs.getBigDecimal("amount"));
+        generator.writeStringField("transactionDate", rs.getDate("transaction_date").toLocalDate().toString());
+        generator.writeStringField("categoryName", rs.getString("category_name"));
+        generator.writeStringField("description", rs.getString("description"));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.backend.transaction;
+
+import com.example.backend.category.Category;
+import com.example.backend.category.CategoryRepository;
+import com.example.backend.groupingrules.GroupingRulesMatcher;
+import com.example.backend.groupingrules.GroupingRulesService;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Imports bank statements in any registered {@link StatementFormat}, detected from the start
+ * of the file. The statement is read in blocks of records; each block is parsed and
+ * categorized (in parallel on the import pool once it is large enough), then split into
+ * insert batches. Per batch, rows the user already has are dropped by fingerprint, the
+ * remaining rows' categories are resolved and they are written in one statement. Importing
+ * the same statement twice therefore stores its rows once.
+ * <p>
+ * The block size is independent of the insert batch size, so that parallel parsing is
+ * reachable with JDBC batches of any size.
+ */
+@Service
+public class TransactionImportService {
+
+    private final CategoryRepository categoryRepository;
+    private final GroupingRulesService groupingRulesService;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final ForkJoinPool importParsingPool;
+    private final StatementFormatDetector statementFormatDetector;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int blockSize;
+    private final int parallelThreshold;
+    private final Charset charset;
+
+    public TransactionImportService(CategoryRepository categoryRepository,
+                                    GroupingRulesService groupingRulesService,
+                                    TransactionBatchWriter transactionBatchWriter,
+                                    ForkJoinPool importParsingPool,
+                                    StatementFormatDetector statementFormatDetector,
+                                    MonthlyRollupService monthlyRollupService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${transaction.import.block-size:8192}") int blockSize,
+                                    @Value("${transaction.import.parallel-threshold:2048}") int parallelThreshold,
+                                    @Value("${transaction.import.charset:UTF-8}") Charset charset) {
+        this.categoryRepository = categoryRepository;
+        this.groupingRulesService = groupingRulesService;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.importParsingPool = importParsingPool;
+        this.statementFormatDetector = statementFormatDetector;
+        this.monthlyRollupService = monthlyRollupService;
+        this.eventPublisher = eventPublisher;
+        this.blockSize = blockSize;
+        this.parallelThreshold = parallelThreshold;
+        this.charset = charset;
+    }
+
+    @Transactional
+    public ImportReport importFile(Path file, Long userId) throws IOException {
+        return importFile(file, userId, new ImportReport());
+    }
+
+    /**
+     * Imports a statement file through a memory mapping, counting progress into the given report.
+     */
+    @Transactional
+    public ImportReport importFile(Path file, Long userId, ImportReport report) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new MappedFileReader(file, charset))) {
+            importStatement(reader, userId, report);
+        }
+        return report;
+    }
+
+    @Transactional
+    public ImportReport importCsv(InputStream input, Long userId) throws IOException {
+        ImportReport report = new ImportReport();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset))) {
+            importStatement(reader, userId, report);
+        }
+        return report;
+    }
+
+    private void importStatement(BufferedReader reader, Long userId, ImportReport report) throws IOException {
+        StatementFormat format = statementFormatDetector.detect(reader);
+        if (format == null) {
+            return;
+        }
+        report.setFormat(format.getName());
+        importRecords(format.open(reader), userId, report);
+    }
+
+    private <R> void importRecords(StatementReader<R> statement, Long userId, ImportReport report) throws IOException {
+        GroupingRulesMatcher rulesMatcher = groupingRulesService.getMatcher(userId);
+        ImportCategoryCache categoryCache = new ImportCategoryCache(categoryRepository, userId);
+        RowFingerprints fingerprints = new RowFingerprints();
+        // Memory is bounded by the block size; each block is written in several insert batches.
+        int batchSize = transactionBatchWriter.getBatchSize();
+        List<R> block = new ArrayList<>(blockSize);
+        long firstRecordNumber = 0;
+        R record;
+
+        while ((record = statement.next()) != null) {
+            if (block.isEmpty()) {
+                firstRecordNumber = statement.recordNumber();
+            }
+            block.add(record);
+            if (block.size() >= blockSize) {
+                importBlock(statement, block, firstRecordNumber, rulesMatcher, categoryCache, fingerprints, batchSize, userId, report);
+                block.clear();
+            }
+        }
+        if (!block.isEmpty()) {
+            importBlock(statement, block, firstRecordNumber, rulesMatcher, categoryCache, fingerprints, batchSize, userId, report);
+        }
+    }
+
+    private <R> void importBlock(StatementReader<R> statement, List<R> block, long firstRecordNumber,
+                                 GroupingRulesMatcher rulesMatcher, ImportCategoryCache categoryCache,
+                                 RowFingerprints fingerprints, int batchSize, Long userId, ImportReport report) {
+        List<ImportedRow> rows = parseBlock(statement, block, firstRecordNumber, rulesMatcher, userId, report);
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            written += writeBatch(rows.subList(from, Math.min(from + batchSize, rows.size())),
+                    categoryCache, fingerprints, userId);
+        }
+        report.rowsSkipped(ImportSkipReason.DUPLICATE, rows.size() - written);
+        report.rowsProcessed(block.size());
+    }
+
+    private <R> List<ImportedRow> parseBlock(StatementReader<R> statement, List<R> records, long firstRecordNumber,
+                                             GroupingRulesMatcher rulesMatcher, Long userId, ImportReport report) {
+        IntFunction<ImportedRow> parser = i -> parseRecord(statement, records.get(i), firstRecordNumber + i,
+                rulesMatcher, userId, report);
+        if (records.size() < parallelThreshold) {
+            return IntStream.range(0, records.size())
+                    .mapToObj(parser)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        // Parallel streams run on the pool that submitted them; toList keeps the input order.
+        return importParsingPool.submit(() -> IntStream.range(0, records.size())
+                        .parallel()
+                        .mapToObj(parser)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .join();
+    }
+
+    /**
+     * Writes the rows the user does not have yet and returns how many that were.
+     */
+    private int writeBatch(List<ImportedRow> rows, ImportCategoryCache categoryCache,
+                           RowFingerprints fingerprints, Long userId) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        for (ImportedRow row : rows) {
+            Transaction transaction = row.transaction();
+            transaction.setFingerprint(fingerprints.next(transaction.getTransactionDate(), transaction.getFingerprint()));
+        }
+        // One existence query per block instead of one lookup per row.
+        Set<String> existing = transactionBatchWriter.findExistingFingerprints(userId,
+                rows.stream().map(row -> row.transaction().getFingerprint()).toList());
+        List<ImportedRow> newRows = existing.isEmpty()
+                ? rows
+                : rows.stream().filter(row -> !existing.contains(row.transaction().getFingerprint())).toList();
+        if (newRows.isEmpty()) {
+            return 0;
+        }
+
+        categoryCache.resolveAll(newRows.stream().map(ImportedRow::categoryName).toList());
+        List<Transaction> batch = new ArrayList<>(newRows.size());
+        for (ImportedRow row : newRows) {
+            if (row.categoryName() != null) {
+                row.transaction().setCategory(categoryCache.get(row.categoryName()));
+            }
+            batch.add(row.transaction());
+        }
+        // Only rows the database actually wrote count; a concurrent import of an overlapping
+        // statement can take some of them between the check above and the insert.
+        List<Transaction> inserted = transactionBatchWriter.insertAll(batch);
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+        MonthlyRollupDeltas rollupDeltas = new MonthlyRollupDeltas();
+        inserted.forEach(rollupDeltas::add);
+        // A handful of upserts per block, since rows collapse into their month and category.
+        monthlyRollupService.apply(rollupDeltas);
+        eventPublisher.publishEvent(TransactionsChangedEvent.added(inserted));
+        return inserted.size();
+    }
+
+    /**
+     * Parses one statement record, or records why it is skipped in the report and returns null.
+     */
+    private <R> ImportedRow parseRecord(StatementReader<R> statement, R record, long recordNumber,
+                                       GroupingRulesMatcher rulesMatcher, Long userId, ImportReport report) {
+        StatementLine line;
+        try {
+            line = statement.parse(record);
+        } catch (MalformedRowException e) {
+            report.rowSkipped(recordNumber, e);
+            return null;
+        }
+
+        TransactionType transactionType;
+        BigDecimal amount = line.amount();
+        if (line.debitCredit() == 'D') {
+            transactionType = TransactionType.EXPENSE;
+            amount = amount.negate(); // Make the amount negative for expenses
+        } else {
+            transactionType = TransactionType.INCOME;
+        }
+
+        // Determine the category name
+        String description = line.counterpartyName();
+        Category category = rulesMatcher.match(description);
+        String categoryName = null;
+        if (category == null) {
+            categoryName = line.debitCredit() == 'C' ? "Makse" : description;
+        }
+
+        // Create the transaction
+        Transaction transaction = new Transaction();
+        transaction.setTransactionType(transactionType);
+        transaction.setAmount(amount);
+        transaction.setCategory(category);
+        transaction.setTransactionDate(line.transactionDate());
+        transaction.setUserId(userId);
+        transaction.setFingerprint(RowFingerprints.of(line, amount));
+        return new ImportedRow(transaction, categoryName);
+    }
+}
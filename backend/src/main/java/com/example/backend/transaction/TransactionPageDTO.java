@@ -0,0 +1,8 @@
+package com.example.backend.transaction;
+
+import java.util.List;
+
+public record TransactionPageDTO(
+        List<TransactionDTO> transactions,
+        String nextCursor // null when there are no more pages
+) {}
@@ -1,7 +1,76 @@
 package com.example.backend.transaction;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    List<Transaction> findByUserId(Long userId);
+
+    List<Transaction> findByUserIdAndTransactionType(Long userId, TransactionType transactionType);
+
+    @Query("""
+            SELECT t FROM Transaction t LEFT JOIN FETCH t.category
+            WHERE t.userId = :userId
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<Transaction> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT t FROM Transaction t LEFT JOIN FETCH t.category
+            WHERE t.userId = :userId
+                AND (t.transactionDate < :transactionDate
+                    OR (t.transactionDate = :transactionDate AND t.id < :id))
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<Transaction> findPageByUserIdAfter(@Param("userId") Long userId,
+                                            @Param("transactionDate") LocalDate transactionDate,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlyIncomeDTO(
+                YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount))
+            FROM Transaction t
+            WHERE t.userId = :userId AND t.transactionType = com.example.backend.transaction.TransactionType.INCOME
+                AND t.transactionDate BETWEEN :from AND :to
+            GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            """)
+    List<MonthlyIncomeDTO> sumIncomesByMonth(@Param("userId") Long userId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlyExpenseDTO(
+                YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount))
+            FROM Transaction t
+            WHERE t.userId = :userId AND t.transactionType = com.example.backend.transaction.TransactionType.EXPENSE
+                AND t.transactionDate BETWEEN :from AND :to
+            GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            """)
+    List<MonthlyExpenseDTO> sumExpensesByMonth(@Param("userId") Long userId,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT new com.example.backend.transaction.MonthlySummaryDTO(
+                YEAR(t.transactionDate),
+                MONTH(t.transactionDate),
+                SUM(CASE WHEN t.transactionType = com.example.backend.transaction.TransactionType.INCOME THEN t.amount ELSE 0 END),
+                SUM(CASE WHEN t.transactionType = com.example.backend.transaction.TransactionType.EXPENSE THEN t.amount ELSE 0 END))
+            FROM Transaction t
+            WHERE t.userId = :userId AND t.transactionDate BETWEEN :from AND :to
+            GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            """)
+    List<MonthlySummaryDTO> sumMonthlySummary(@Param("userId") Long userId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
 }
@@ -1,49 +1,78 @@
 package com.example.backend.transaction;
 
+import com.example.backend.auth.AdminTokenVerifier;
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.category.Category;
 import com.example.backend.category.CategoryRepository;
-import com.example.backend.groupingrules.GroupingRules;
-import com.example.backend.groupingrules.GroupingRulesRepository;
-import com.opencsv.CSVParserBuilder;
-import com.opencsv.CSVReaderBuilder;
+import com.example.backend.groupingrules.GroupingRulesService;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import com.opencsv.CSVReader;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
 
+    // Open ends of a from/to window; both fit a Postgres DATE column.
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
-    private final GroupingRulesRepository groupingRulesRepository;
-
-    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository, GroupingRulesRepository groupingRulesRepository) {
+    private final GroupingRulesService groupingRulesService;
+    private final ImportJobService importJobService;
+    private final TransactionExportService transactionExportService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final RollupVerificationService rollupVerificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdminTokenVerifier adminTokenVerifier;
+
+    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository,
+                              GroupingRulesService groupingRulesService, ImportJobService importJobService,
+                              TransactionExportService transactionExportService,
+                              MonthlyRollupService monthlyRollupService,
+                              RollupVerificationService rollupVerificationService,
+                              ApplicationEventPublisher eventPublisher,
+                              AdminTokenVerifier adminTokenVerifier) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
-        this.groupingRulesRepository = groupingRulesRepository;
+        this.groupingRulesService = groupingRulesService;
+        this.importJobService = importJobService;
+        this.transactionExportService = transactionExportService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.rollupVerificationService = rollupVerificationService;
+        this.eventPublisher = eventPublisher;
+        this.adminTokenVerifier = adminTokenVerifier;
     }
 
+    @Transactional
     public TransactionDTO addTransaction(TransactionDTO transactionDTO) {
-        Category category = categoryRepository.findByName(transactionDTO.categoryName())
-                .orElseGet(() -> {
-                    Category newCategory = new Category();
-                    newCategory.setUserId(SecurityUtils.getAuthenticatedUserId());
-                    newCategory.setName(transactionDTO.categoryName());
-                    newCategory.setGlobal(true);
-                    return categoryRepository.save(newCategory);
-                });
+        boolean hasCategoryName = transactionDTO.categoryName() != null && !transactionDTO.categoryName().isBlank();
+        // Without an explicit category, let the user's grouping rules pick one from the description.
+        Category category = hasCategoryName
+                ? null
+                : groupingRulesService.getMatcher(SecurityUtils.getAuthenticatedUserId()).match(transactionDTO.description());
+
+        // With neither a category name nor a matching rule the transaction stays uncategorized.
+        if (category == null && hasCategoryName) {
+            category = categoryRepository.findByName(transactionDTO.categoryName())
+                    .orElseGet(() -> {
+                        Category newCategory = new Category();
+                        newCategory.setUserId(SecurityUtils.getAuthenticatedUserId());
+                        newCategory.setName(transactionDTO.categoryName());
+                        newCategory.setGlobal(true);
+                        return categoryRepository.save(newCategory);
+                    });
+        }
 
         TransactionType transactionType = transactionDTO.amount().compareTo(BigDecimal.ZERO) < 0
                 ? TransactionType.EXPENSE
@@ -59,24 +88,36 @@ public class TransactionService {
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.recordAdded(savedTransaction);
+        eventPublisher.publishEvent(TransactionsChangedEvent.added(List.of(savedTransaction)));
 
         return new TransactionDTO(
                 savedTransaction.getId(),
                 savedTransaction.getTransactionType(),
                 savedTransaction.getAmount(),
                 savedTransaction.getTransactionDate(),
-                savedTransaction.getCategory().getName(),
+                savedTransaction.getCategory() != null ? savedTransaction.getCategory().getName() : null,
                 savedTransaction.getDescription()
         );
     }
 
+    @Transactional
     public void deleteTransaction(Long id) {
+        Optional<Transaction> transaction = transactionRepository.findById(id);
         transactionRepository.deleteById(id);
+        transaction.ifPresent(removed -> {
+            monthlyRollupService.recordRemoved(removed);
+            eventPublisher.publishEvent(TransactionsChangedEvent.removed(removed));
+        });
     }
 
+    @Transactional
     public void updateTransaction(Long id, TransactionDTO transactionDTO) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        MonthlyRollupDeltas rollupDeltas = new MonthlyRollupDeltas();
+        rollupDeltas.remove(transaction);
+        TransactionChange before = TransactionChange.of(transaction);
 
         if (transactionDTO.categoryName() != null) {
             Category category = categoryRepository.findByName(transactionDTO.categoryName())
@@ -97,189 +138,131 @@ public class TransactionService {
         }
 
         transactionRepository.save(transaction);
+        rollupDeltas.add(transaction);
+        monthlyRollupService.apply(rollupDeltas);
+        eventPublisher.publishEvent(TransactionsChangedEvent.replaced(before, transaction));
     }
     public List<TransactionDTO> getAllUserTransactions() {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId)) // Add null check
-                .map(transaction -> new TransactionDTO(
-                        transaction.getId(),
-                        transaction.getTransactionType(),
-                        transaction.getAmount(),
-                        transaction.getTransactionDate(),
-                        transaction.getCategory().getName(),
-                        transaction.getDescription()
-                ))
+        return transactionRepository.findByUserId(userId).stream()
+                .map(this::mapToTransactionDTO)
                 .collect(Collectors.toList());
     }
 
+    public TransactionPageDTO getUserTransactionsPage(String cursor, int size) {
+        Long userId = SecurityUtils.getAuthenticatedUserId();
+        // Fetch one extra row to find out whether another page follows.
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findPageByUserId(userId, limit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(userId, after.transactionDate(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Transaction> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? TransactionCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new TransactionPageDTO(
+                page.stream().map(this::mapToTransactionDTO).collect(Collectors.toList()),
+                nextCursor
+        );
+    }
+
     public List<TransactionDTO> getAllUserExpenses() {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId)) // Add null check
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.EXPENSE)
-                .map(transaction -> new TransactionDTO(
-                        transaction.getId(),
-                        transaction.getTransactionType(),
-                        transaction.getAmount(),
-                        transaction.getTransactionDate(),
-                        transaction.getCategory().getName(),
-                        transaction.getDescription()
-                ))
+        return transactionRepository.findByUserIdAndTransactionType(userId, TransactionType.EXPENSE).stream()
+                .map(this::mapToTransactionDTO)
                 .collect(Collectors.toList());
     }
 
     public List<TransactionDTO> getAllUserIncomes() {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId)) // Add null check
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.INCOME)
-                .map(transaction -> new TransactionDTO(
-                        transaction.getId(),
-                        transaction.getTransactionType(),
-                        transaction.getAmount(),
-                        transaction.getTransactionDate(),
-                        transaction.getCategory().getName(),
-                        transaction.getDescription()
-                ))
+        return transactionRepository.findByUserIdAndTransactionType(userId, TransactionType.INCOME).stream()
+                .map(this::mapToTransactionDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<MonthlyIncomeDTO> getAllUserIncomesByMonth() {
+    public List<MonthlyIncomeDTO> getAllUserIncomesByMonth(LocalDate from, LocalDate to) {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId))
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.INCOME)
-                .collect(Collectors.groupingBy(transaction -> transaction.getTransactionDate().getMonthValue()))
-                .entrySet()
-                .stream()
-                .map(entry -> new MonthlyIncomeDTO(
-                        entry.getKey(), // Month number
-                        entry.getValue().stream()
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                ))
-                .collect(Collectors.toList());
+        if (isMonthAligned(from, to)) {
+            return monthlyRollupService.getIncomesByMonth(userId, rangeStart(from), rangeEnd(to));
+        }
+        return transactionRepository.sumIncomesByMonth(userId, rangeStart(from), rangeEnd(to));
     }
 
-    public List<MonthlyExpenseDTO> getAllUserExpensesByMonth() {
+    public List<MonthlyExpenseDTO> getAllUserExpensesByMonth(LocalDate from, LocalDate to) {
         Long userId = SecurityUtils.getAuthenticatedUserId();
-        return transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId))
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(transaction -> transaction.getTransactionDate().getMonthValue()))
-                .entrySet()
-                .stream()
-                .map(entry -> new MonthlyExpenseDTO(
-                        entry.getKey(),
-                        entry.getValue().stream()
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                ))
-                .collect(Collectors.toList());
+        if (isMonthAligned(from, to)) {
+            return monthlyRollupService.getExpensesByMonth(userId, rangeStart(from), rangeEnd(to));
+        }
+        return transactionRepository.sumExpensesByMonth(userId, rangeStart(from), rangeEnd(to));
     }
-    public List<MonthlySummaryDTO> getAllUserMonthlySummary() {
+
+    public List<MonthlySummaryDTO> getAllUserMonthlySummary(LocalDate from, LocalDate to) {
         Long userId = SecurityUtils.getAuthenticatedUserId();
+        if (isMonthAligned(from, to)) {
+            return monthlyRollupService.getMonthlySummary(userId, rangeStart(from), rangeEnd(to));
+        }
+        return transactionRepository.sumMonthlySummary(userId, rangeStart(from), rangeEnd(to));
+    }
 
-        Map<Integer, BigDecimal> incomesByMonth = transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId))
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.INCOME)
-                .collect(Collectors.groupingBy(
-                        transaction -> transaction.getTransactionDate().getMonthValue(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-
-        Map<Integer, BigDecimal> expensesByMonth = transactionRepository.findAll().stream()
-                .filter(transaction -> transaction.getUserId() != null && transaction.getUserId().equals(userId))
-                .filter(transaction -> transaction.getTransactionType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        transaction -> transaction.getTransactionDate().getMonthValue(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-
-        return Stream.concat(incomesByMonth.keySet().stream(), expensesByMonth.keySet().stream())
-                .distinct()
-                .map(month -> new MonthlySummaryDTO(
-                        month,
-                        incomesByMonth.getOrDefault(month, BigDecimal.ZERO),
-                        expensesByMonth.getOrDefault(month, BigDecimal.ZERO)
-                ))
-                .sorted(Comparator.comparingInt(MonthlySummaryDTO::month))
-                .collect(Collectors.toList());
+
+    public ImportJobDTO importTransactionsFromCsv(MultipartFile file) throws Exception {
+        return importJobService.submit(file, SecurityUtils.getAuthenticatedUserId());
     }
 
+    public ImportJobDTO getImportJob(String jobId) {
+        return importJobService.getJob(jobId, SecurityUtils.getAuthenticatedUserId());
+    }
 
-    public void importTransactionsFromCsv(MultipartFile file) throws Exception {
-        try (CSVReader csvReader = new CSVReaderBuilder(new InputStreamReader(file.getInputStream()))
-                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
-                .build()) {
-            String[] headers = csvReader.readNext(); // Skip the header row
-            String[] line;
-
-            List<Transaction> transactions = new ArrayList<>();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-            Long userId = SecurityUtils.getAuthenticatedUserId();
-
-            while ((line = csvReader.readNext()) != null) {
-                // Check if the row has enough columns
-                if (line.length < 9) {
-                    System.err.println("Skipping malformed row: " + String.join(";", line));
-                    continue;
-                }
-                String debitOrCredit = line[7]; // "Deebet/Kreedit (D/C)"
-                TransactionType transactionType;
-                String rawAmount = line[8].replace(",", ".").trim(); // Clean up the value
-                BigDecimal amount;
-                try {
-                    amount = new BigDecimal(rawAmount);
-                } catch (NumberFormatException e) {
-                    System.err.println("Invalid amount format: " + rawAmount);
-                    continue; // Skip this row if the amount is invalid
-                }
-                if ("D".equalsIgnoreCase(debitOrCredit)) {
-                    transactionType = TransactionType.EXPENSE;
-                    amount = amount.negate(); // Make the amount negative for expenses
-                } else {
-                    transactionType = TransactionType.INCOME;
-                }
-
-                // Determine the category name
-                String description = line[4];
-                Category category = findCategoryByGroupingRules(description, userId);
-
-                if (category == null) {
-                    String categoryName = "C".equalsIgnoreCase(debitOrCredit) ? "Makse" : description;
-                    category = categoryRepository.findByName(categoryName)
-                            .orElseGet(() -> {
-                                Category newCategory = new Category();
-                                newCategory.setName(categoryName);
-                                newCategory.setUserId(userId);
-                                newCategory.setGlobal(false);
-                                return categoryRepository.save(newCategory);
-                            });
-                }
-
-                // Create the transaction
-                Transaction transaction = new Transaction();
-                transaction.setTransactionType(transactionType);
-                transaction.setAmount(amount);
-                transaction.setCategory(category);
-                transaction.setTransactionDate(LocalDate.parse(line[2].replace("\"", ""), formatter)); // "Kuupäev"
-                transaction.setUserId(userId);
-                transactions.add(transaction);
-            }
-
-            transactionRepository.saveAll(transactions);
-        }
+    /**
+     * The user is resolved here, on the request thread; the returned body runs later on an
+     * async thread without the security context.
+     */
+    public StreamingResponseBody exportTransactions(ExportFormat format) {
+        Long userId = SecurityUtils.getAuthenticatedUserId();
+        return output -> transactionExportService.export(userId, format, output);
     }
 
-    private Category findCategoryByGroupingRules(String description, Long userId) {
-        List<GroupingRules> activeRules = groupingRulesRepository.findByUserIdAndIsActive(userId, true);
-        for (GroupingRules rule : activeRules) {
-            if (description.toLowerCase().contains(rule.getCriterion().toLowerCase())) {
-                return rule.getCategory();
-            }
-        }
-        return null;
+    public ImportStatsDTO getImportStats(String adminToken) {
+        // The counters cover every user's imports, so they are for operators only.
+        adminTokenVerifier.check(adminToken);
+        return importJobService.getStats();
+    }
+
+    public RollupVerificationDTO startRollupVerification(String adminToken) {
+        return rollupVerificationService.start(adminToken);
+    }
+
+    public RollupVerificationDTO getRollupVerification(String adminToken) {
+        return rollupVerificationService.getLastRun(adminToken);
+    }
+
+    private TransactionDTO mapToTransactionDTO(Transaction transaction) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getTransactionType(),
+                transaction.getAmount(),
+                transaction.getTransactionDate(),
+                transaction.getCategory() != null ? transaction.getCategory().getName() : null,
+                transaction.getDescription()
+        );
+    }
+
+    private static LocalDate rangeStart(LocalDate from) {
+        return from != null ? from : EARLIEST_DATE;
+    }
+
+    private static LocalDate rangeEnd(LocalDate to) {
+        return to != null ? to : LATEST_DATE;
+    }
+
+    // The rollup only holds whole months, so partial months are summed from tehingud.
+    private static boolean isMonthAligned(LocalDate from, LocalDate to) {
+        return (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.backend.transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the writing database transaction whenever transactions are created,
+ * updated, deleted or imported. An update is one removed and one added change.
+ */
+public record TransactionsChangedEvent(
+        List<TransactionChange> added,
+        List<TransactionChange> removed
+) {
+    static TransactionsChangedEvent added(List<Transaction> transactions) {
+        return new TransactionsChangedEvent(transactions.stream().map(TransactionChange::of).toList(), List.of());
+    }
+
+    static TransactionsChangedEvent removed(Transaction transaction) {
+        return new TransactionsChangedEvent(List.of(), List.of(TransactionChange.of(transaction)));
+    }
+
+    static TransactionsChangedEvent replaced(TransactionChange before, Transaction after) {
+        return new TransactionsChangedEvent(List.of(TransactionChange.of(after)), List.of(before));
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.backend.integrationTests.budget;
 
-import com.example.backend.budget.Budget;
+import com.example.backend.budget.BudgetDetailsDTO;
 import com.example.backend.budget.BudgetDTO;
 import com.example.backend.budget.BudgetService;
 import com.example.backend.category.AddCategoryRequest;
@@ -65,11 +65,10 @@ public class BudgetControllerTests {
                 new ArrayList<>(), false, new ArrayList<>(), null, null
         );
 
-        // Setup mock budget entity
-        Budget mockBudget = new Budget();
-        mockBudget.setId(1L);
-        mockBudget.setName("Test Budget");
-        mockBudget.setTotalAmount(new BigDecimal("1000.00"));
+        // Setup mock budget read model
+        BudgetDetailsDTO mockBudgetDetails = new BudgetDetailsDTO(
+                1L, "Test Budget", new BigDecimal("1000.00"), false, null, null, null, null
+        );
 
         // Setup mock category spent list
         List<CategorySpentDTO> mockCategorySpentList = List.of(
@@ -78,7 +77,7 @@ public class BudgetControllerTests {
         );
 
         // Configure mock service behavior
-        when(budgetService.getBudget(1L)).thenReturn(mockBudget);
+        when(budgetService.getBudget(eq(1L), any())).thenReturn(mockBudgetDetails);
         when(budgetService.getAllBudgets()).thenReturn(List.of(mockBudgetDTO));
         when(budgetService.calculateTotalSpentAmountInBudget(1L)).thenReturn(new BigDecimal("400.00"));
         when(budgetService.getSpentAmountByCategoryForBudget(1L)).thenReturn(mockCategorySpentList);
@@ -109,7 +108,8 @@ public class BudgetControllerTests {
         mockMvc.perform(get("/budget/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.name").value("Test Budget"));
+                .andExpect(jsonPath("$.name").value("Test Budget"))
+                .andExpect(jsonPath("$.categories").doesNotExist());
     }
 
     @Test
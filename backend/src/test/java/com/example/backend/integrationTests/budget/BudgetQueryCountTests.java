@@ -0,0 +1,152 @@
+package com.example.backend.integrationTests.budget;
+
+import com.example.backend.budget.Budget;
+import com.example.backend.budget.BudgetDTO;
+import com.example.backend.budget.BudgetProgressService;
+import com.example.backend.budget.BudgetProgressStreamService;
+import com.example.backend.budget.BudgetService;
+import com.example.backend.category.Category;
+import com.example.backend.email.EmailSender;
+import com.example.backend.email.EmailTemplate;
+import com.example.backend.transaction.Transaction;
+import com.example.backend.transaction.TransactionType;
+import com.example.backend.users.UserPrincipal;
+import com.example.backend.users.Users;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements behind the budget list against a real schema, where lazy
+ * loading would show up as extra statements. Runs as the queryCountTest Gradle task, which
+ * check depends on, since the regular test task is disabled.
+ */
+@DataJpaTest
+@Import(BudgetService.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "APP_BACKEND_URL=http://localhost:8080"
+})
+public class BudgetQueryCountTests {
+
+    private static final int BUDGETS = 5;
+    private static final int CATEGORIES_PER_BUDGET = 3;
+    private static final int MEMBERS_PER_BUDGET = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @MockitoBean
+    private EmailTemplate emailTemplate;
+
+    @MockitoBean
+    private EmailSender emailSender;
+
+    @MockitoBean
+    private BudgetProgressService budgetProgressService;
+
+    @MockitoBean
+    private BudgetProgressStreamService budgetProgressStreamService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Users owner = entityManager.persist(user("owner"));
+        for (int b = 0; b < BUDGETS; b++) {
+            List<Users> members = new ArrayList<>(List.of(owner));
+            for (int m = 1; m < MEMBERS_PER_BUDGET; m++) {
+                members.add(entityManager.persist(user("member" + b + "_" + m)));
+            }
+            List<Category> categories = new ArrayList<>();
+            for (int c = 0; c < CATEGORIES_PER_BUDGET; c++) {
+                Category category = entityManager.persist(Category.builder()
+                        .name("Category " + b + "_" + c)
+                        .userId(owner.getId())
+                        .build());
+                for (int t = 0; t < 2; t++) {
+                    entityManager.persist(Transaction.builder()
+                            .transactionType(TransactionType.EXPENSE)
+                            .amount(new BigDecimal("-10.00"))
+                            .transactionDate(LocalDate.of(2025, 3, t + 1))
+                            .category(category)
+                            .userId(owner.getId())
+                            .build());
+                }
+                categories.add(category);
+            }
+            entityManager.persist(Budget.builder()
+                    .name("Budget " + b)
+                    .totalAmount(new BigDecimal("500.00"))
+                    .shared(true)
+                    .members(members)
+                    .categories(categories)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(owner), null, List.of()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getAllBudgets_ShouldRunOneStatementPerProjectionRegardlessOfBudgetCount() {
+        // Act
+        List<BudgetDTO> budgets = budgetService.getAllBudgets();
+
+        // Assert
+        assertEquals(BUDGETS, budgets.size());
+        budgets.forEach(budget -> {
+            assertEquals(CATEGORIES_PER_BUDGET, budget.categories().size());
+            assertEquals(MEMBERS_PER_BUDGET, budget.members().size());
+            budget.categories().forEach(category -> assertEquals(2, category.transactionIds().size()));
+        });
+        // Budgets, categories, members and transaction ids.
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    private static Users user(String name) {
+        return Users.builder()
+                .kasutajanimi(name)
+                .eesnimi(name)
+                .perekonnanimi(name)
+                .parool("secret")
+                .email(name + "@example.com")
+                .build();
+    }
+}
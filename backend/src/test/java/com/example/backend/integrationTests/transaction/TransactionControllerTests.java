@@ -14,10 +14,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -52,6 +55,7 @@ public class TransactionControllerTests {
     private List<MonthlyIncomeDTO> mockMonthlyIncomeList;
     private List<MonthlyExpenseDTO> mockMonthlyExpenseList;
     private List<MonthlySummaryDTO> mockMonthlySummaryList;
+    private ImportJobDTO mockImportJob;
 
     @BeforeEach
     void setup() throws Exception {
@@ -80,11 +84,13 @@ public class TransactionControllerTests {
         // Create mock monthly income data
         mockMonthlyIncomeList = List.of(
                 new MonthlyIncomeDTO(
-                        5, // Just the month number (May)
+                        2025,
+                        5, // May
                         new BigDecimal("3000.00")
                 ),
                 new MonthlyIncomeDTO(
-                        4, // Just the month number (April)
+                        2025,
+                        4, // April
                         new BigDecimal("2950.00")
                 )
         );
@@ -92,11 +98,13 @@ public class TransactionControllerTests {
         // Create mock monthly expense data
         mockMonthlyExpenseList = List.of(
                 new MonthlyExpenseDTO(
-                        5, // Just the month number (May)
+                        2025,
+                        5, // May
                         new BigDecimal("1500.00")
                 ),
                 new MonthlyExpenseDTO(
-                        4, // Just the month number (April)
+                        2025,
+                        4, // April
                         new BigDecimal("1600.00")
                 )
         );
@@ -104,28 +112,44 @@ public class TransactionControllerTests {
         // Create mock monthly summary data
         mockMonthlySummaryList = List.of(
                 new MonthlySummaryDTO(
-                        5, // Just the month number (May)
+                        2025,
+                        5, // May
                         new BigDecimal("3000.00"),
                         new BigDecimal("1500.00")
                 ),
                 new MonthlySummaryDTO(
-                        4, // Just the month number (April)
+                        2025,
+                        4, // April
                         new BigDecimal("2950.00"),
                         new BigDecimal("1600.00")
                 )
         );
 
+        mockImportJob = new ImportJobDTO(
+                "job-1",
+                ImportJobStatus.QUEUED,
+                null,
+                0,
+                0,
+                0,
+                Map.of(),
+                List.of(),
+                null,
+                LocalDateTime.of(2025, 5, 20, 12, 0),
+                null
+        );
+
         // Setup service mock responses
         when(transactionService.getAllUserTransactions()).thenReturn(mockTransactionList);
         when(transactionService.getAllUserExpenses()).thenReturn(List.of(mockExpenseTransaction));
         when(transactionService.getAllUserIncomes()).thenReturn(List.of(mockIncomeTransaction));
-        when(transactionService.getAllUserIncomesByMonth()).thenReturn(mockMonthlyIncomeList);
-        when(transactionService.getAllUserExpensesByMonth()).thenReturn(mockMonthlyExpenseList);
-        when(transactionService.getAllUserMonthlySummary()).thenReturn(mockMonthlySummaryList);
+        when(transactionService.getAllUserIncomesByMonth(null, null)).thenReturn(mockMonthlyIncomeList);
+        when(transactionService.getAllUserExpensesByMonth(null, null)).thenReturn(mockMonthlyExpenseList);
+        when(transactionService.getAllUserMonthlySummary(null, null)).thenReturn(mockMonthlySummaryList);
         when(transactionService.addTransaction(any(TransactionDTO.class))).thenReturn(mockExpenseTransaction);
         doNothing().when(transactionService).updateTransaction(eq(1L), any(TransactionDTO.class));
         doNothing().when(transactionService).deleteTransaction(1L);
-        doNothing().when(transactionService).importTransactionsFromCsv(any());
+        when(transactionService.importTransactionsFromCsv(any())).thenReturn(mockImportJob);
     }
 
     @Test
@@ -143,6 +167,19 @@ public class TransactionControllerTests {
                 .andExpect(jsonPath("$[1].transactionType").value("INCOME"));
     }
 
+    @Test
+    @WithMockUser
+    void getUserTransactionsPage_ShouldReturnPageWithCursor() throws Exception {
+        when(transactionService.getUserTransactionsPage(null, 1))
+                .thenReturn(new TransactionPageDTO(List.of(mockExpenseTransaction), "next-token"));
+
+        mockMvc.perform(get("/transaction/page").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(1))
+                .andExpect(jsonPath("$.transactions[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
     @Test
     @WithMockUser
     void getAllUserExpenses_ShouldReturnExpensesList() throws Exception {
@@ -195,6 +232,7 @@ public class TransactionControllerTests {
         mockMvc.perform(get("/transaction/monthlySummary"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].year").value(2025))
                 .andExpect(jsonPath("$[0].month").value(5))
                 .andExpect(jsonPath("$[0].totalIncome").value(3000.00))
                 .andExpect(jsonPath("$[0].totalExpense").value(1500.00))
@@ -203,6 +241,22 @@ public class TransactionControllerTests {
                 .andExpect(jsonPath("$[1].totalExpense").value(1600.00));
     }
 
+    @Test
+    @WithMockUser
+    void getAllUserMonthlySummary_WithRange_ShouldPassRangeToService() throws Exception {
+        LocalDate from = LocalDate.of(2025, 4, 1);
+        LocalDate to = LocalDate.of(2025, 4, 30);
+        when(transactionService.getAllUserMonthlySummary(from, to)).thenReturn(List.of(mockMonthlySummaryList.get(1)));
+
+        mockMvc.perform(get("/transaction/monthlySummary")
+                        .param("from", "2025-04-01")
+                        .param("to", "2025-04-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].year").value(2025))
+                .andExpect(jsonPath("$[0].month").value(4));
+    }
+
     @Test
     @WithMockUser
     void createTransaction_ShouldReturnCreatedTransaction() throws Exception {
@@ -251,7 +305,7 @@ public class TransactionControllerTests {
 
     @Test
     @WithMockUser
-    void importTransactions_ShouldReturnSuccessMessage() throws Exception {
+    void importTransactions_ShouldReturnAcceptedJob() throws Exception {
         MockMultipartFile file = new MockMultipartFile(
                 "file",
                 "transactions.csv",
@@ -261,7 +315,58 @@ public class TransactionControllerTests {
 
         mockMvc.perform(multipart("/transaction/import")
                         .file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser
+    void getImportJob_ShouldReturnJobProgress() throws Exception {
+        ImportJobDTO completedJob = new ImportJobDTO(
+                "job-1",
+                ImportJobStatus.COMPLETED,
+                "PANGALIIT_CSV",
+                1200,
+                3,
+                600.0,
+                Map.of(ImportSkipReason.INVALID_AMOUNT, 3L),
+                List.of(new ImportRowIssueDTO(17, ImportSkipReason.INVALID_AMOUNT, "Invalid amount format: abc")),
+                null,
+                LocalDateTime.of(2025, 5, 20, 12, 0),
+                LocalDateTime.of(2025, 5, 20, 12, 0, 2)
+        );
+        when(transactionService.getImportJob("job-1")).thenReturn(completedJob);
+
+        mockMvc.perform(get("/transaction/import/job-1"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Transactions imported successfully"));
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsProcessed").value(1200))
+                .andExpect(jsonPath("$.rowsSkipped").value(3))
+                .andExpect(jsonPath("$.skippedByReason.INVALID_AMOUNT").value(3))
+                .andExpect(jsonPath("$.issues[0].lineNumber").value(17));
+    }
+
+    @Test
+    @WithMockUser
+    void exportTransactions_ShouldStreamCsvAttachment() throws Exception {
+        when(transactionService.exportTransactions(ExportFormat.CSV))
+                .thenReturn(output -> output.write("id,transactionType\n1,EXPENSE\n".getBytes()));
+
+        MvcResult result = mockMvc.perform(get("/transaction/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,transactionType\n1,EXPENSE\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportTransactions_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/transaction/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.example.backend.unitTests.budget;
+
+import com.example.backend.budget.BudgetProgressService;
+import com.example.backend.category.CategorySpentDTO;
+import com.example.backend.transaction.TransactionChange;
+import com.example.backend.transaction.TransactionsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetProgressServiceTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BudgetProgressService budgetProgressService;
+
+    @BeforeEach
+    void setUp() {
+        budgetProgressService = new BudgetProgressService(jdbcTemplate, transactionManager, eventPublisher);
+    }
+
+    @Test
+    void getSpentByCategory_ShouldServeRepeatedReadsFromMemory() throws Exception {
+        // Arrange
+        ResultSet row = mock(ResultSet.class);
+        when(row.getBigDecimal(3)).thenReturn(new BigDecimal("120.50"));
+        when(row.getBoolean(5)).thenReturn(false);
+        when(row.getLong(1)).thenReturn(10L);
+        when(row.getString(2)).thenReturn("Groceries");
+        when(row.getLong(4)).thenReturn(3L);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+
+        // Act
+        List<CategorySpentDTO> first = budgetProgressService.getSpentByCategory(1L);
+        BigDecimal total = budgetProgressService.getTotalSpent(1L);
+
+        // Assert
+        assertEquals(List.of(new CategorySpentDTO("Groceries", new BigDecimal("120.50"))), first);
+        assertEquals(new BigDecimal("120.50"), total);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void getTotalSpent_WhenEvictedDuringLoad_ShouldLoadAgainBeforeCaching() throws Exception {
+        // Arrange
+        ResultSet row = mock(ResultSet.class);
+        when(row.getBigDecimal(3)).thenReturn(new BigDecimal("40.00"));
+        when(row.getBoolean(5)).thenReturn(false);
+        when(row.getLong(1)).thenReturn(10L);
+        when(row.getString(2)).thenReturn("Groceries");
+        when(row.getLong(4)).thenReturn(1L);
+        boolean[] evicted = {false};
+        doAnswer(invocation -> {
+            if (!evicted[0]) {
+                // A budget edit commits while the first load is reading.
+                evicted[0] = true;
+                budgetProgressService.delete(1L);
+            }
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+
+        // Act
+        budgetProgressService.getTotalSpent(1L);
+        BigDecimal total = budgetProgressService.getTotalSpent(1L);
+
+        // Assert
+        assertEquals(new BigDecimal("40.00"), total);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+    }
+
+    @Test
+    void onTransactionsChanged_WithoutCategories_ShouldNotTouchDatabase() {
+        // Arrange
+        TransactionChange uncategorized = new TransactionChange(1L, null, LocalDate.of(2025, 3, 1), new BigDecimal("-10.00"));
+
+        // Act
+        budgetProgressService.onTransactionsChanged(new TransactionsChangedEvent(List.of(uncategorized), List.of()));
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
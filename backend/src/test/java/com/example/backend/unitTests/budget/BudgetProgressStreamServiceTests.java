@@ -0,0 +1,127 @@
+package com.example.backend.unitTests.budget;
+
+import com.example.backend.budget.BudgetCategoryProgressDTO;
+import com.example.backend.budget.BudgetProgressChangedEvent;
+import com.example.backend.budget.BudgetProgressDTO;
+import com.example.backend.budget.BudgetProgressInvalidatedEvent;
+import com.example.backend.budget.BudgetProgressService;
+import com.example.backend.budget.BudgetProgressStreamService;
+import com.example.backend.budget.BudgetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetProgressStreamServiceTests {
+
+    @Mock
+    private BudgetProgressService budgetProgressService;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    private final List<Runnable> sends = new ArrayList<>();
+
+    private BudgetProgressStreamService budgetProgressStreamService;
+
+    @BeforeEach
+    void setUp() {
+        budgetProgressStreamService = new BudgetProgressStreamService(budgetProgressService, budgetRepository, sends::add, 30, 30, 1);
+    }
+
+    @Test
+    void flush_WhileSendIsInFlight_ShouldCoalesceChanges() {
+        // Arrange
+        when(budgetProgressService.getProgress(eq(1L), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return new BudgetProgressDTO(1L, BigDecimal.ZERO, List.of());
+        });
+        budgetProgressStreamService.subscribe(1L, 1L);
+
+        // Act
+        budgetProgressStreamService.onProgressChanged(change(new BigDecimal("10.00")));
+        budgetProgressStreamService.onProgressChanged(change(new BigDecimal("15.00")));
+        budgetProgressStreamService.flush();
+        budgetProgressStreamService.onProgressChanged(change(new BigDecimal("20.00")));
+        budgetProgressStreamService.flush();
+
+        // Assert
+        assertEquals(1, sends.size());
+        sends.get(0).run();
+        budgetProgressStreamService.flush();
+        assertEquals(1, sends.size());
+    }
+
+    @Test
+    void flush_AfterInvalidation_ShouldSendNewSnapshotToMembers() {
+        // Arrange
+        when(budgetProgressService.getProgress(eq(1L), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return new BudgetProgressDTO(1L, BigDecimal.ZERO, List.of());
+        });
+        when(budgetRepository.existsByIdAndMembersId(1L, 1L)).thenReturn(true);
+        budgetProgressStreamService.subscribe(1L, 1L);
+
+        // Act
+        budgetProgressStreamService.onProgressInvalidated(new BudgetProgressInvalidatedEvent(1L));
+        budgetProgressStreamService.flush();
+        sends.get(0).run();
+        budgetProgressStreamService.flush();
+
+        // Assert
+        assertEquals(1, sends.size());
+        verify(budgetProgressService, times(2)).getProgress(eq(1L), any());
+    }
+
+    @Test
+    void flush_AfterMemberRemoved_ShouldCloseStream() {
+        // Arrange
+        when(budgetProgressService.getProgress(eq(1L), any()))
+                .thenReturn(new BudgetProgressDTO(1L, BigDecimal.ZERO, List.of()));
+        when(budgetRepository.existsByIdAndMembersId(1L, 1L)).thenReturn(false);
+        budgetProgressStreamService.subscribe(1L, 1L);
+
+        // Act
+        budgetProgressStreamService.onProgressInvalidated(new BudgetProgressInvalidatedEvent(1L));
+        budgetProgressStreamService.flush();
+        sends.get(0).run();
+        budgetProgressStreamService.onProgressChanged(change(new BigDecimal("10.00")));
+        budgetProgressStreamService.flush();
+
+        // Assert
+        assertEquals(1, sends.size());
+        verify(budgetProgressService, times(1)).getProgress(eq(1L), any());
+    }
+
+    @Test
+    void subscribe_WhenConnectionLimitReached_ShouldReject() {
+        // Arrange
+        when(budgetProgressService.getProgress(anyLong(), any()))
+                .thenReturn(new BudgetProgressDTO(1L, BigDecimal.ZERO, List.of()));
+        budgetProgressStreamService.subscribe(1L, 1L);
+
+        // Act
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> budgetProgressStreamService.subscribe(2L, 1L));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(budgetProgressService, times(1)).getProgress(anyLong(), any());
+    }
+
+    private static BudgetProgressChangedEvent change(BigDecimal spent) {
+        return new BudgetProgressChangedEvent(1L, spent,
+                List.of(new BudgetCategoryProgressDTO(10L, "Groceries", spent, new BigDecimal("5.00"))));
+    }
+}
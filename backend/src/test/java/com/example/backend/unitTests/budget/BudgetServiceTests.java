@@ -5,6 +5,7 @@ import com.example.backend.budget.*;
 import com.example.backend.category.BudgetCategoryDTO;
 import com.example.backend.category.Category;
 import com.example.backend.category.CategoryRepository;
+import com.example.backend.category.CategorySpentDTO;
 import com.example.backend.email.EmailSender;
 import com.example.backend.email.EmailTemplate;
 import com.example.backend.transaction.Transaction;
@@ -17,6 +18,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -50,6 +54,12 @@ public class BudgetServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BudgetProgressService budgetProgressService;
+
+    @Mock
+    private BudgetProgressStreamService budgetProgressStreamService;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -145,34 +155,95 @@ public class BudgetServiceTests {
     @Test
     void calculateTotalSpentAmountInBudget_ShouldReturnCorrectSum() {
         // Arrange
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(testBudget));
+        when(budgetProgressService.getTotalSpent(1L)).thenReturn(new BigDecimal("50.00"));
 
         // Act
         BigDecimal result = budgetService.calculateTotalSpentAmountInBudget(1L);
 
         // Assert
         assertEquals(new BigDecimal("50.00"), result);
+        verifyNoInteractions(budgetRepository);
     }
 
     @Test
-    void getBudget_ShouldReturnBudget() {
+    void calculateTotalSpentAmountInBudget_ShouldThrowWhenBudgetNotFound() {
         // Arrange
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(testBudget));
+        when(budgetProgressService.getTotalSpent(99L)).thenThrow(new IllegalArgumentException("Budget not found"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> budgetService.calculateTotalSpentAmountInBudget(99L));
+    }
+
+    @Test
+    void getSpentAmountByCategoryForBudget_ShouldReturnAggregatedRows() {
+        // Arrange
+        List<CategorySpentDTO> spent = List.of(
+                new CategorySpentDTO("Food", new BigDecimal("50.00")),
+                new CategorySpentDTO("Travel", BigDecimal.ZERO));
+        when(budgetProgressService.getSpentByCategory(1L)).thenReturn(spent);
+
+        // Act
+        List<CategorySpentDTO> result = budgetService.getSpentAmountByCategoryForBudget(1L);
+
+        // Assert
+        assertEquals(spent, result);
+        verifyNoInteractions(budgetRepository);
+    }
+
+    @Test
+    void getBudget_WithoutInclude_ShouldOnlyLoadBudgetRow() {
+        // Arrange
+        when(budgetRepository.findRowById(1L)).thenReturn(Optional.of(new BudgetRow(1L, "Monthly Budget",
+                new BigDecimal("1000.00"), true, null, null)));
+
+        // Act
+        BudgetDetailsDTO result = budgetService.getBudget(1L, null);
+
+        // Assert
+        assertEquals("Monthly Budget", result.name());
+        assertNull(result.categories());
+        assertNull(result.members());
+        verify(budgetRepository).findRowById(1L);
+        verifyNoMoreInteractions(budgetRepository);
+    }
+
+    @Test
+    void getBudget_WithTransactions_ShouldIncludeCategoriesWithTransactionIds() {
+        // Arrange
+        when(budgetRepository.findRowById(1L)).thenReturn(Optional.of(new BudgetRow(1L, "Monthly Budget",
+                new BigDecimal("1000.00"), true, null, null)));
+        when(budgetRepository.findCategoryRowsByBudgetIds(List.of(1L)))
+                .thenReturn(List.of(new BudgetCategoryRow(1L, 1L, "Food")));
+        when(budgetRepository.findTransactionRowsByCategoryIds(List.of(1L)))
+                .thenReturn(List.of(new CategoryTransactionRow(1L, 5L), new CategoryTransactionRow(1L, 6L)));
 
         // Act
-        Budget result = budgetService.getBudget(1L);
+        BudgetDetailsDTO result = budgetService.getBudget(1L, Set.of("transactions"));
 
         // Assert
-        assertEquals(testBudget, result);
+        assertEquals(List.of(new BudgetCategoryDTO(1L, "Food", List.of(5L, 6L))), result.categories());
+        assertNull(result.members());
+        verify(budgetRepository, never()).findMemberRowsByBudgetIds(any());
     }
 
     @Test
     void getBudget_ShouldThrowExceptionWhenBudgetNotFound() {
         // Arrange
-        when(budgetRepository.findById(1L)).thenReturn(Optional.empty());
+        when(budgetRepository.findRowById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> budgetService.getBudget(1L));
+        assertThrows(ResponseStatusException.class, () -> budgetService.getBudget(1L, Set.of()));
+    }
+
+    @Test
+    void getBudget_WithUnknownInclude_ShouldThrowBadRequest() {
+        // Act
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> budgetService.getBudget(1L, Set.of("goals")));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(budgetRepository);
     }
 
     @Test
@@ -182,6 +253,7 @@ public class BudgetServiceTests {
 
         // Assert
         verify(budgetRepository).deleteById(1L);
+        verify(budgetProgressService).delete(1L);
     }
 
     @Test
@@ -210,13 +282,21 @@ public class BudgetServiceTests {
         assertFalse(testBudget.isShared());
         assertEquals(updatedBudgetDTO.startDate(), testBudget.getStartDate());
         assertEquals(updatedBudgetDTO.endDate(), testBudget.getEndDate());
+        verify(budgetProgressService).invalidate(1L);
     }
 
     @Test
     void getAllBudgets_ShouldReturnBudgetsForAuthenticatedUser() {
         // Arrange
         when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
-        when(budgetRepository.findByMembersId(1L)).thenReturn(List.of(testBudget));
+        when(budgetRepository.findRowsByMemberId(1L)).thenReturn(List.of(new BudgetRow(1L, "Monthly Budget",
+                new BigDecimal("1000.00"), true, testBudget.getStartDate(), testBudget.getEndDate())));
+        when(budgetRepository.findCategoryRowsByBudgetIds(List.of(1L)))
+                .thenReturn(List.of(new BudgetCategoryRow(1L, 1L, "Food")));
+        when(budgetRepository.findMemberRowsByBudgetIds(List.of(1L)))
+                .thenReturn(List.of(new BudgetMemberRow(1L, 1L, "test@example.com", "TestUser")));
+        when(budgetRepository.findTransactionRowsByCategoryIds(List.of(1L)))
+                .thenReturn(List.of(new CategoryTransactionRow(1L, 1L)));
 
         // Act
         List<BudgetDTO> result = budgetService.getAllBudgets();
@@ -225,6 +305,46 @@ public class BudgetServiceTests {
         assertEquals(1, result.size());
         assertEquals("Monthly Budget", result.get(0).name());
         assertEquals(new BigDecimal("1000.00"), result.get(0).totalAmount());
+        assertEquals(testBudgetDTO.categories(), result.get(0).categories());
+        assertEquals(testBudgetDTO.members(), result.get(0).members());
+    }
+
+    @Test
+    void getAllBudgets_ShouldRunOneQueryPerProjectionRegardlessOfBudgetCount() {
+        // Arrange
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(budgetRepository.findRowsByMemberId(1L)).thenReturn(List.of(
+                new BudgetRow(1L, "Food", new BigDecimal("300.00"), true, null, null),
+                new BudgetRow(2L, "Travel", new BigDecimal("800.00"), false, null, null),
+                new BudgetRow(3L, "Home", new BigDecimal("500.00"), true, null, null)));
+        when(budgetRepository.findCategoryRowsByBudgetIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new BudgetCategoryRow(1L, 10L, "Groceries"),
+                new BudgetCategoryRow(1L, 11L, "Restaurants"),
+                new BudgetCategoryRow(2L, 20L, "Flights"),
+                new BudgetCategoryRow(3L, 10L, "Groceries")));
+        when(budgetRepository.findMemberRowsByBudgetIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new BudgetMemberRow(1L, 1L, "test@example.com", "TestUser"),
+                new BudgetMemberRow(2L, 1L, "test@example.com", "TestUser"),
+                new BudgetMemberRow(3L, 1L, "test@example.com", "TestUser"),
+                new BudgetMemberRow(3L, 2L, "other@example.com", "OtherUser")));
+        when(budgetRepository.findTransactionRowsByCategoryIds(List.of(10L, 11L, 20L))).thenReturn(List.of(
+                new CategoryTransactionRow(10L, 100L),
+                new CategoryTransactionRow(10L, 101L),
+                new CategoryTransactionRow(20L, 200L)));
+
+        // Act
+        List<BudgetDTO> result = budgetService.getAllBudgets();
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(List.of(100L, 101L), result.get(2).categories().get(0).transactionIds());
+        assertEquals(List.of(), result.get(0).categories().get(1).transactionIds());
+        assertEquals(2, result.get(2).members().size());
+        verify(budgetRepository, times(1)).findRowsByMemberId(1L);
+        verify(budgetRepository, times(1)).findCategoryRowsByBudgetIds(anyCollection());
+        verify(budgetRepository, times(1)).findMemberRowsByBudgetIds(anyCollection());
+        verify(budgetRepository, times(1)).findTransactionRowsByCategoryIds(anyCollection());
+        verifyNoMoreInteractions(budgetRepository);
     }
 
     @Test
@@ -2,8 +2,10 @@ package com.example.backend.unitTests.category;
 
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.budget.Budget;
+import com.example.backend.budget.BudgetProgressService;
 import com.example.backend.budget.BudgetRepository;
 import com.example.backend.category.*;
+import com.example.backend.groupingrules.GroupingRulesService;
 import com.example.backend.transaction.Transaction;
 import com.example.backend.transaction.TransactionRepository;
 import com.example.backend.users.Users;
@@ -39,6 +41,12 @@ public class CategoryServiceTests {
     @Mock
     private BudgetRepository budgetRepository;
 
+    @Mock
+    private BudgetProgressService budgetProgressService;
+
+    @Mock
+    private GroupingRulesService groupingRulesService;
+
     @Mock
     private SecurityUtils securityUtils;
 
@@ -144,6 +152,7 @@ public class CategoryServiceTests {
 
         // Assert
         verify(categoryRepository).deleteById(1L);
+        verify(groupingRulesService).evictMatcher(null);
     }
 
     @Test
@@ -163,6 +172,7 @@ public class CategoryServiceTests {
         verify(categoryRepository).save(testCategory);
         assertEquals("Updated Category", testCategory.getName());
         assertTrue(testCategory.isGlobal());
+        verify(groupingRulesService).evictMatcher(null);
     }
 
     @Test
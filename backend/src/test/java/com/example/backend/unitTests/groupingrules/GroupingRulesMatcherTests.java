@@ -0,0 +1,69 @@
+package com.example.backend.unitTests.groupingrules;
+
+import com.example.backend.category.Category;
+import com.example.backend.groupingrules.GroupingRules;
+import com.example.backend.groupingrules.GroupingRulesMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupingRulesMatcherTests {
+
+    private final Category food = Category.builder().id(1L).name("Food").build();
+    private final Category fuel = Category.builder().id(2L).name("Fuel").build();
+    private final Category shop = Category.builder().id(3L).name("Shopping").build();
+
+    private GroupingRules rule(Long id, String criterion, Category category) {
+        return GroupingRules.builder()
+                .id(id)
+                .criterion(criterion)
+                .category(category)
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    void match_ShouldBeCaseInsensitive() {
+        GroupingRulesMatcher matcher = new GroupingRulesMatcher(List.of(rule(1L, "Rimi", food)));
+
+        assertEquals(food, matcher.match("RIMI HYPER ULEMISTE"));
+        assertEquals(food, matcher.match("kaardimakse rimi"));
+    }
+
+    @Test
+    void match_ShouldReturnNullWhenNothingMatches() {
+        GroupingRulesMatcher matcher = new GroupingRulesMatcher(List.of(rule(1L, "rimi", food)));
+
+        assertNull(matcher.match("Circle K"));
+        assertNull(matcher.match(null));
+        assertNull(new GroupingRulesMatcher(List.of()).match("rimi"));
+    }
+
+    @Test
+    void match_ShouldPreferLowestRuleIdRegardlessOfPosition() {
+        GroupingRulesMatcher matcher = new GroupingRulesMatcher(List.of(
+                rule(3L, "circle", fuel),
+                rule(1L, "k-market", shop),
+                rule(2L, "market", food)
+        ));
+
+        assertEquals(shop, matcher.match("circle k-market"));
+        assertEquals(food, matcher.match("circle market"));
+        assertEquals(fuel, matcher.match("circle k"));
+    }
+
+    @Test
+    void match_ShouldFindCriteriaThatOverlapOrNest() {
+        GroupingRulesMatcher matcher = new GroupingRulesMatcher(List.of(
+                rule(1L, "she", food),
+                rule(2L, "hers", fuel),
+                rule(3L, "his", shop)
+        ));
+
+        assertEquals(fuel, matcher.match("xhersx"));
+        assertEquals(food, matcher.match("ushers"));
+        assertEquals(shop, matcher.match("ahisa"));
+    }
+}
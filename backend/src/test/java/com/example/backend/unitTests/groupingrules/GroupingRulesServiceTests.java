@@ -1,10 +1,13 @@
 package com.example.backend.unitTests.groupingrules;
 
+import com.example.backend.auth.AdminTokenVerifier;
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.category.Category;
 import com.example.backend.category.CategoryRepository;
 import com.example.backend.groupingrules.GroupingRules;
+import com.example.backend.groupingrules.GroupingRulesCacheStatsDTO;
 import com.example.backend.groupingrules.GroupingRulesDTO;
+import com.example.backend.groupingrules.GroupingRulesMatcher;
 import com.example.backend.groupingrules.GroupingRulesRepository;
 import com.example.backend.groupingrules.GroupingRulesService;
 import com.example.backend.users.UserRepository;
@@ -15,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +41,9 @@ public class GroupingRulesServiceTests {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private AdminTokenVerifier adminTokenVerifier;
+
     @InjectMocks
     private GroupingRulesService groupingRulesService;
 
@@ -71,6 +78,8 @@ public class GroupingRulesServiceTests {
                 "Test Category",
                 true
         );
+
+        ReflectionTestUtils.setField(groupingRulesService, "maxCachedUsers", 10);
     }
 
     @Test
@@ -96,6 +105,23 @@ public class GroupingRulesServiceTests {
         verify(groupingRulesRepository).deleteById(1L);
     }
 
+    @Test
+    void deleteGroupingRule_WhenMatcherCompiledDuringDelete_ShouldNotKeepDeletedRule() {
+        // Arrange
+        when(groupingRulesRepository.findById(1L)).thenReturn(Optional.of(testGroupingRule));
+        when(groupingRulesRepository.findByUserIdAndIsActive(1L, true))
+                .thenReturn(List.of(testGroupingRule))
+                .thenReturn(List.of());
+        doAnswer(invocation -> groupingRulesService.getMatcher(1L)).when(groupingRulesRepository).deleteById(1L);
+
+        // Act
+        groupingRulesService.deleteGroupingRule(1L);
+        GroupingRulesMatcher matcher = groupingRulesService.getMatcher(1L);
+
+        // Assert
+        assertTrue(matcher.isEmpty());
+    }
+
     @Test
     void updateGroupingRule_ShouldUpdateAndSaveGroupingRule() {
         // Arrange
@@ -130,4 +156,38 @@ public class GroupingRulesServiceTests {
         assertEquals(testGroupingRuleDTO.criterion(), result.get(0).criterion());
         assertEquals(testGroupingRuleDTO.categoryName(), result.get(0).categoryName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMatcher_ShouldCompileOnceAndServeFromCache() {
+        // Arrange
+        when(groupingRulesRepository.findByUserIdAndIsActive(1L, true)).thenReturn(List.of(testGroupingRule));
+
+        // Act
+        GroupingRulesMatcher first = groupingRulesService.getMatcher(1L);
+        GroupingRulesMatcher second = groupingRulesService.getMatcher(1L);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(testCategory, first.match("payment with test criterion"));
+        verify(groupingRulesRepository, times(1)).findByUserIdAndIsActive(1L, true);
+        GroupingRulesCacheStatsDTO stats = groupingRulesService.getCacheStats("secret");
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        verify(adminTokenVerifier).check("secret");
+    }
+
+    @Test
+    void updateGroupingRule_ShouldEvictCachedMatcherOfRuleOwner() {
+        // Arrange
+        when(groupingRulesRepository.findByUserIdAndIsActive(1L, true)).thenReturn(List.of(testGroupingRule));
+        when(groupingRulesRepository.findById(1L)).thenReturn(Optional.of(testGroupingRule));
+        groupingRulesService.getMatcher(1L);
+
+        // Act
+        groupingRulesService.updateGroupingRule(1L, new GroupingRulesDTO(1L, "Other", "Test Category", true));
+        groupingRulesService.getMatcher(1L);
+
+        // Assert
+        verify(groupingRulesRepository, times(2)).findByUserIdAndIsActive(1L, true);
+    }
+}
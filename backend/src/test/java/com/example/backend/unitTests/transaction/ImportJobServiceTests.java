@@ -0,0 +1,106 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.transaction.ImportJobDTO;
+import com.example.backend.transaction.ImportJobService;
+import com.example.backend.transaction.ImportJobStatus;
+import com.example.backend.transaction.ImportMetrics;
+import com.example.backend.transaction.ImportReport;
+import com.example.backend.transaction.InvalidStatementException;
+import com.example.backend.transaction.TransactionImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportJobServiceTests {
+
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    private final ImportMetrics importMetrics = new ImportMetrics();
+
+    private final MockMultipartFile file = new MockMultipartFile(
+            "file", "statement.csv", "text/csv", "header\n".getBytes());
+
+    @Test
+    void submit_ShouldRunImportAndReportCompletedJob() throws Exception {
+        // Arrange
+        ImportJobService importJobService = new ImportJobService(transactionImportService, Runnable::run, importMetrics, 60);
+
+        // Act
+        ImportJobDTO submitted = importJobService.submit(file, 1L);
+        ImportJobDTO job = importJobService.getJob(submitted.jobId(), 1L);
+
+        // Assert
+        assertEquals(ImportJobStatus.COMPLETED, job.status());
+        assertNotNull(job.finishedAt());
+        verify(transactionImportService).importFile(any(Path.class), eq(1L), any(ImportReport.class));
+        assertEquals(1, importJobService.getStats().jobsCompleted());
+    }
+
+    @Test
+    void submit_WhenImportFails_ShouldReportFailedJob() throws Exception {
+        // Arrange
+        ImportJobService importJobService = new ImportJobService(transactionImportService, Runnable::run, importMetrics, 60);
+        when(transactionImportService.importFile(any(Path.class), eq(1L), any(ImportReport.class)))
+                .thenThrow(new IllegalStateException("ERROR: relation \"tehingud\" does not exist"));
+
+        // Act
+        ImportJobDTO job = importJobService.getJob(importJobService.submit(file, 1L).jobId(), 1L);
+
+        // Assert
+        assertEquals(ImportJobStatus.FAILED, job.status());
+        assertEquals("The import failed, please try again later", job.error());
+        assertEquals(1, importJobService.getStats().jobsFailed());
+    }
+
+    @Test
+    void submit_WhenFileIsNotAStatement_ShouldReportWhy() throws Exception {
+        // Arrange
+        ImportJobService importJobService = new ImportJobService(transactionImportService, Runnable::run, importMetrics, 60);
+        when(transactionImportService.importFile(any(Path.class), eq(1L), any(ImportReport.class)))
+                .thenThrow(new InvalidStatementException("Unsupported statement format"));
+
+        // Act
+        ImportJobDTO job = importJobService.getJob(importJobService.submit(file, 1L).jobId(), 1L);
+
+        // Assert
+        assertEquals(ImportJobStatus.FAILED, job.status());
+        assertEquals("Unsupported statement format", job.error());
+    }
+
+    @Test
+    void submit_WhenExecutorIsFull_ShouldRejectWithServiceUnavailable() {
+        // Arrange
+        ImportJobService importJobService = new ImportJobService(transactionImportService, task -> {
+            throw new RejectedExecutionException();
+        }, importMetrics, 60);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> importJobService.submit(file, 1L));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void getJob_OfAnotherUser_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        ImportJobService importJobService = new ImportJobService(transactionImportService, Runnable::run, importMetrics, 60);
+        ImportJobDTO job = importJobService.submit(file, 1L);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> importJobService.getJob(job.jobId(), 2L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+}
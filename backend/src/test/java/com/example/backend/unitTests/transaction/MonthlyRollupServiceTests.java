@@ -0,0 +1,76 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.transaction.MonthlyRollupDeltas;
+import com.example.backend.transaction.MonthlyRollupRepository;
+import com.example.backend.transaction.MonthlyRollupService;
+import com.example.backend.transaction.Transaction;
+import com.example.backend.transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MonthlyRollupServiceTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    @Test
+    void apply_WhenChangesCancelOut_ShouldNotWrite() {
+        // Arrange
+        Transaction transaction = expense(new BigDecimal("-25.00"), LocalDate.of(2025, 3, 10));
+        MonthlyRollupDeltas deltas = new MonthlyRollupDeltas();
+        deltas.add(transaction);
+        deltas.remove(transaction);
+
+        // Act
+        monthlyRollupService.apply(deltas);
+
+        // Assert
+        assertTrue(deltas.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getMonthlySummary_WhenRollupIsBehind_ShouldRebuildOnce() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1L), eq(1L))).thenReturn(3L);
+        when(monthlyRollupRepository.sumMonthlySummary(1L, 2025 * 12 + 1, 2025 * 12 + 12)).thenReturn(List.of());
+
+        // Act
+        monthlyRollupService.getMonthlySummary(1L, from, to);
+        monthlyRollupService.getMonthlySummary(1L, from, to);
+
+        // Assert
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq(1L), eq(1L));
+        verify(jdbcTemplate, times(2)).update(anyString(), eq(1L));
+        verify(monthlyRollupRepository, times(2)).sumMonthlySummary(1L, 2025 * 12 + 1, 2025 * 12 + 12);
+    }
+
+    private static Transaction expense(BigDecimal amount, LocalDate date) {
+        return Transaction.builder()
+                .userId(1L)
+                .transactionType(TransactionType.EXPENSE)
+                .amount(amount)
+                .transactionDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.auth.AdminTokenVerifier;
+import com.example.backend.transaction.MonthlyRollupService;
+import com.example.backend.transaction.RollupVerificationDTO;
+import com.example.backend.transaction.RollupVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RollupVerificationServiceTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private RollupVerificationService rollupVerificationService;
+
+    @BeforeEach
+    void setUp() {
+        rollupVerificationService = new RollupVerificationService(
+                jdbcTemplate, monthlyRollupService, Runnable::run, taskScheduler, 200, new AdminTokenVerifier("secret"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runScheduled_ShouldRebuildOnlyDriftedUsers() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(0L), eq(200))).thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(1L), eq(1L))).thenReturn(new long[]{10, 0});
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(2L), eq(2L))).thenReturn(new long[]{5, 2});
+
+        // Act
+        rollupVerificationService.runScheduled();
+
+        // Assert
+        verify(monthlyRollupService).rebuildUser(2L);
+        verify(monthlyRollupService, never()).rebuildUser(1L);
+        RollupVerificationDTO run = rollupVerificationService.getLastRun("secret");
+        assertFalse(run.running());
+        assertEquals(2, run.usersChecked());
+        assertEquals(1, run.usersRepaired());
+        assertEquals(15, run.transactionsScanned());
+        assertEquals(2, run.driftedRows());
+    }
+
+    @Test
+    void start_WithWrongToken_ShouldBeForbidden() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> rollupVerificationService.start("wrong"));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(taskScheduler, jdbcTemplate);
+    }
+}
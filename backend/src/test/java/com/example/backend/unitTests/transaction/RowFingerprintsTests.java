@@ -0,0 +1,63 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.transaction.RowFingerprints;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowFingerprintsTests {
+
+    @Test
+    void next_ShouldSuffixRepeatsOfTheSameRow() {
+        // Arrange
+        RowFingerprints fingerprints = new RowFingerprints();
+        LocalDate date = LocalDate.of(2025, 1, 5);
+
+        // Act
+        String first = fingerprints.next(date, "abc");
+        String second = fingerprints.next(date, "abc");
+        String other = fingerprints.next(date, "def");
+
+        // Assert
+        assertEquals("abc", first);
+        assertEquals("abc-2", second);
+        assertEquals("def", other);
+    }
+
+    @Test
+    void next_ForLongStatement_ShouldKeepCountersOfRecentDatesOnly() {
+        // Arrange
+        RowFingerprints fingerprints = new RowFingerprints();
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        int rowsPerDay = 50;
+        int maxTracked = 0;
+
+        // Act
+        for (int row = 0; row < 200_000; row++) {
+            LocalDate date = start.plusDays(row / rowsPerDay);
+            assertEquals("row" + row, fingerprints.next(date, "row" + row));
+            maxTracked = Math.max(maxTracked, fingerprints.trackedFingerprints());
+        }
+
+        // Assert
+        assertTrue(maxTracked <= 8 * rowsPerDay, "tracked " + maxTracked + " fingerprints");
+    }
+
+    @Test
+    void next_ForDescendingStatement_ShouldStillSuffixRepeatsWithinADay() {
+        // Arrange
+        RowFingerprints fingerprints = new RowFingerprints();
+        LocalDate start = LocalDate.of(2025, 12, 31);
+
+        // Act
+        for (int day = 0; day < 30; day++) {
+            fingerprints.next(start.minusDays(day), "coffee" + day);
+        }
+        String repeat = fingerprints.next(start.minusDays(29), "coffee29");
+
+        // Assert
+        assertEquals("coffee29-2", repeat);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.transaction.StatementLine;
+import com.example.backend.transaction.StatementLineParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares StatementLineParser with the OpenCSV path it replaced: CSVReader with a ';'
+ * CSVParser, then line[8].replace(",", ".").trim() into new BigDecimal and
+ * LocalDate.parse(line[2].replace("\"", "")). Both read the same in-memory statement line by
+ * line and must agree on the totals they compute.
+ * <p>
+ * Not a JMH harness, so treat the output as indicative. Run it with
+ * {@code ./gradlew benchmark}; other test tasks skip it, since they do not set the
+ * {@code benchmark} system property.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StatementLineParserBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private record Totals(BigDecimal amount, long epochDays) {}
+
+    @Test
+    void compareWithOpenCsvPath() throws Exception {
+        String statement = statement();
+        Totals expected = openCsv(statement);
+        assertEquals(expected, handRolled(statement));
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            openCsv(statement);
+            handRolled(statement);
+        }
+        long openCsvBest = Long.MAX_VALUE;
+        long handRolledBest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            assertEquals(expected, openCsv(statement));
+            openCsvBest = Math.min(openCsvBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            assertEquals(expected, handRolled(statement));
+            handRolledBest = Math.min(handRolledBest, System.nanoTime() - start);
+        }
+        System.out.printf("OpenCSV path:        %d ns/row%n", openCsvBest / ROWS);
+        System.out.printf("StatementLineParser: %d ns/row%n", handRolledBest / ROWS);
+    }
+
+    private static Totals openCsv(String statement) throws Exception {
+        BigDecimal amount = BigDecimal.ZERO;
+        long epochDays = 0;
+        try (CSVReader csvReader = new CSVReaderBuilder(new StringReader(statement))
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .build()) {
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                BigDecimal value = new BigDecimal(line[8].replace(",", ".").trim());
+                amount = amount.add("D".equals(line[7]) ? value.negate() : value);
+                epochDays += LocalDate.parse(line[2].replace("\"", ""), DATE_FORMAT).toEpochDay();
+            }
+        }
+        return new Totals(amount, epochDays);
+    }
+
+    private static Totals handRolled(String statement) throws Exception {
+        BigDecimal amount = BigDecimal.ZERO;
+        long epochDays = 0;
+        try (BufferedReader reader = new BufferedReader(new StringReader(statement))) {
+            String raw;
+            while ((raw = reader.readLine()) != null) {
+                StatementLine line = StatementLineParser.PANGALIIT.parse(raw);
+                amount = amount.add(line.debitCredit() == 'D' ? line.amount().negate() : line.amount());
+                epochDays += line.transactionDate().toEpochDay();
+            }
+        }
+        return new Totals(amount, epochDays);
+    }
+
+    private static String statement() {
+        String[] names = {"RIMI TARTU", "Tööandja OÜ", "Bolt", "Selver Kristiine", "Elisa Eesti AS"};
+        StringBuilder statement = new StringBuilder(ROWS * 96);
+        for (int i = 0; i < ROWS; i++) {
+            String date = "%02d.%02d.2025".formatted(i % 28 + 1, i % 12 + 1);
+            String amount = (i % 1000) + "," + "%02d".formatted(i % 100);
+            statement.append("\"EE001\";\"").append(i).append("\";\"").append(date).append("\";\"EE002\";\"")
+                    .append(names[i % names.length]).append("\";\"\";\"\";\"").append(i % 3 == 0 ? "C" : "D")
+                    .append("\";\"").append(amount).append("\";\"\";\"A").append(i).append("\";\"Selgitus\"\n");
+        }
+        return statement.toString();
+    }
+}
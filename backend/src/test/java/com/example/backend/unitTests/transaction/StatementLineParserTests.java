@@ -0,0 +1,101 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.transaction.ImportSkipReason;
+import com.example.backend.transaction.MalformedRowException;
+import com.example.backend.transaction.StatementColumns;
+import com.example.backend.transaction.StatementLine;
+import com.example.backend.transaction.StatementLineParser;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementLineParserTests {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static String row(String date, String name, String debitOrCredit, String amount) {
+        return "\"EE001\";\"1\";\"" + date + "\";\"EE002\";\"" + name + "\";\"\";\"\";\"" + debitOrCredit + "\";\""
+                + amount + "\";\"\";\"A1\";\"Selgitus\"";
+    }
+
+    @Test
+    void parse_ShouldReadColumnsOfLhvRow() {
+        StatementLine line = StatementLineParser.PANGALIIT.parse(row("05.03.2025", "RIMI TARTU", "D", "12,50"));
+
+        assertEquals(LocalDate.of(2025, 3, 5), line.transactionDate());
+        assertEquals("RIMI TARTU", line.counterpartyName());
+        assertEquals('D', line.debitCredit());
+        assertEquals(new BigDecimal("12.50"), line.amount());
+    }
+
+    @Test
+    void parse_ShouldUnescapeQuotesAndKeepSeparatorsInsideQuotedField() {
+        StatementLine line = StatementLineParser.PANGALIIT.parse(row("05.03.2025", "Say \"\"hi\"\"; bye", "C", "1"));
+
+        assertEquals("Say \"hi\"; bye", line.counterpartyName());
+        assertEquals(new BigDecimal("1.00"), line.amount());
+    }
+
+    @Test
+    void parse_ShouldRejectShortRowsAndBadAmounts() {
+        assertThrows(MalformedRowException.class, () -> StatementLineParser.PANGALIIT.parse("too;short"));
+        assertThrows(MalformedRowException.class, () -> StatementLineParser.PANGALIIT.parse(row("05.03.2025", "x", "D", "abc")));
+        assertThrows(MalformedRowException.class, () -> StatementLineParser.PANGALIIT.parse("\"unterminated;a;b;c;d;e;f;g;h"));
+    }
+
+    @Test
+    void parse_ShouldAgreeWithOpenCsvPath() throws Exception {
+        CSVParser openCsv = new CSVParserBuilder().withSeparator(';').build();
+        List<String> lines = List.of(
+                row("01.01.2024", "Rimi", "D", "12,50"),
+                row("29.02.2024", "Tööandja OÜ", "C", "1500"),
+                row("31.12.2025", "Bolt", "d", " 7,1 "),
+                row("15.06.2025", "Selver", "D", "0,05"),
+                row("15.06.2025", "Refund", "C", "-3,00"),
+                row("15.06.2025", "Precise", "C", "1,234"),
+                "EE001;1;02.02.2025;EE002;Unquoted;;;D;99,99;;A2;Selgitus"
+        );
+
+        for (String raw : lines) {
+            String[] columns = openCsv.parseLine(raw);
+            StatementLine line = StatementLineParser.PANGALIIT.parse(raw);
+
+            assertEquals(LocalDate.parse(columns[2].replace("\"", ""), DATE_FORMAT), line.transactionDate(), raw);
+            assertEquals(columns[4], line.counterpartyName(), raw);
+            assertEquals("D".equalsIgnoreCase(columns[7]), line.debitCredit() == 'D', raw);
+            assertEquals("C".equalsIgnoreCase(columns[7]), line.debitCredit() == 'C', raw);
+            assertEquals(0, new BigDecimal(columns[8].replace(",", ".").trim()).compareTo(line.amount()), raw);
+        }
+    }
+
+    @Test
+    void parse_WithSwedbankColumns_ShouldSkipBalanceRowsAndReadKreedit() {
+        StatementLineParser parser = new StatementLineParser(new StatementColumns(';', 2, 3, 7, 5, 4, 1, "20"));
+
+        StatementLine line = parser.parse("\"EE1\";\"20\";\"02.02.2025\";\"Tööandja\";\"palk\";\"1500,00\";\"EUR\";\"K\";\"X\"");
+
+        assertEquals('C', line.debitCredit());
+        assertEquals("palk", line.description());
+        MalformedRowException exception = assertThrows(MalformedRowException.class,
+                () -> parser.parse("\"EE1\";\"10\";\"01.02.2025\";\"\";\"Algsaldo\";\"100,00\";\"EUR\";\"K\";\"\""));
+        assertEquals(ImportSkipReason.NOT_A_TRANSACTION, exception.getReason());
+    }
+
+    @Test
+    void parse_ShouldReadIsoDatesAndTurnNegativeAmountsIntoDebits() {
+        StatementLineParser parser = new StatementLineParser(new StatementColumns(',', 2, 4, 7, 8, 11, -1, null));
+
+        StatementLine line = parser.parse("\"EE1\",\"\",\"2025-02-03\",\"EE2\",\"Bolt\",\"\",\"\",\"\",\"-7.10\",\"\",\"X\",\"sõit\"");
+
+        assertEquals(LocalDate.of(2025, 2, 3), line.transactionDate());
+        assertEquals('D', line.debitCredit());
+        assertEquals(new BigDecimal("7.10"), line.amount());
+    }
+}
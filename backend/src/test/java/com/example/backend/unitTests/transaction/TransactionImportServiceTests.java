@@ -0,0 +1,307 @@
+package com.example.backend.unitTests.transaction;
+
+import com.example.backend.category.Category;
+import com.example.backend.category.CategoryRepository;
+import com.example.backend.groupingrules.GroupingRules;
+import com.example.backend.groupingrules.GroupingRulesMatcher;
+import com.example.backend.groupingrules.GroupingRulesService;
+import com.example.backend.transaction.CamtStatementFormat;
+import com.example.backend.transaction.DelimitedStatementFormat;
+import com.example.backend.transaction.ImportReport;
+import com.example.backend.transaction.ImportRowIssueDTO;
+import com.example.backend.transaction.ImportSkipReason;
+import com.example.backend.transaction.MonthlyRollupDeltas;
+import com.example.backend.transaction.MonthlyRollupService;
+import com.example.backend.transaction.StatementFormatDetector;
+import com.example.backend.transaction.Transaction;
+import com.example.backend.transaction.TransactionBatchWriter;
+import com.example.backend.transaction.TransactionImportService;
+import com.example.backend.transaction.TransactionType;
+import com.example.backend.transaction.TransactionsChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionImportServiceTests {
+
+    private static final String HEADER = "Kliendi konto;Dokumendi number;Kuupäev;Saaja/maksja konto;Saaja/maksja nimi;"
+            + "Saaja panga kood;Tühi;Deebet/Kreedit (D/C);Summa;Viitenumber;Arhiveerimistunnus;Selgitus\n";
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private GroupingRulesService groupingRulesService;
+
+    @Mock
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final StatementFormatDetector detector = new StatementFormatDetector(List.of(
+            DelimitedStatementFormat.pangaliit(), DelimitedStatementFormat.swedbank(), new CamtStatementFormat()));
+
+    private ForkJoinPool pool;
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        lenient().when(transactionBatchWriter.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        groceries = Category.builder().id(5L).name("Groceries").build();
+        when(groupingRulesService.getMatcher(1L)).thenReturn(new GroupingRulesMatcher(List.of(GroupingRules.builder()
+                .id(1L)
+                .criterion("rimi")
+                .category(groceries)
+                .isActive(true)
+                .build())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static String row(String date, String name, String debitOrCredit, String amount) {
+        return "\"EE001\";\"1\";\"" + date + "\";\"EE002\";\"" + name + "\";\"\";\"\";\"" + debitOrCredit + "\";\""
+                + amount + "\";\"\";\"A1\";\"Selgitus\"\n";
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Transaction> importAndCaptureRows(String csv, int parallelThreshold) throws Exception {
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, parallelThreshold, StandardCharsets.UTF_8);
+        importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 1L);
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionBatchWriter, atLeastOnce()).insertAll(captor.capture());
+        List<Transaction> written = new ArrayList<>();
+        captor.getAllValues().forEach(written::addAll);
+        return written;
+    }
+
+    @Test
+    void importCsv_ShouldParseCategorizeAndBatchRows() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(2);
+        Category payment = Category.builder().id(6L).name("Makse").build();
+        when(categoryRepository.findByNameIn(any())).thenReturn(List.of(payment));
+        String csv = HEADER
+                + row("01.02.2025", "RIMI TARTU", "D", "12,50")
+                + row("02.02.2025", "Tööandja OÜ", "C", "1500,00")
+                + "too;short\n";
+
+        // Act
+        List<Transaction> written = importAndCaptureRows(csv, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(2, written.size());
+        Transaction expense = written.get(0);
+        assertEquals(TransactionType.EXPENSE, expense.getTransactionType());
+        assertEquals(new BigDecimal("-12.50"), expense.getAmount());
+        assertEquals(LocalDate.of(2025, 2, 1), expense.getTransactionDate());
+        assertEquals(groceries, expense.getCategory());
+        assertEquals(payment, written.get(1).getCategory());
+        verify(categoryRepository, never()).findByName(any());
+    }
+
+    @Test
+    void importCsv_InParallelMode_ShouldKeepFileOrder() throws Exception {
+        // Arrange
+        // Insert batches smaller than the parallel threshold must not keep parsing sequential.
+        when(transactionBatchWriter.getBatchSize()).thenReturn(10);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int day = 1; day <= 28; day++) {
+            csv.append(row(String.format("%02d.03.2025", day), "Rimi", "D", day + ",00"));
+        }
+
+        // Act
+        List<Transaction> written = importAndCaptureRows(csv.toString(), 16);
+
+        // Assert
+        assertEquals(28, written.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(LocalDate.of(2025, 3, i + 1), written.get(i).getTransactionDate());
+        }
+    }
+
+    @Test
+    void importFile_ShouldReadMemoryMappedFile() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(100);
+        Path file = Files.createTempFile("statement", ".csv");
+        Files.writeString(file, HEADER + row("07.04.2025", "Rimi Õismäe", "D", "3,20"), StandardCharsets.UTF_8);
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, Integer.MAX_VALUE, StandardCharsets.UTF_8);
+
+        // Act
+        try {
+            importService.importFile(file, 1L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Assert
+        verify(transactionBatchWriter).insertAll(argThat(rows -> rows.size() == 1
+                && rows.get(0).getAmount().compareTo(new BigDecimal("-3.20")) == 0
+                && rows.get(0).getCategory() == groceries));
+    }
+
+    @Test
+    void importCsv_ShouldFingerprintIdenticalRowsInFileSeparately() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(100);
+        String csv = HEADER
+                + row("03.02.2025", "Rimi", "D", "2,40")
+                + row("03.02.2025", "Rimi", "D", "2,40")
+                + row("04.02.2025", "Rimi", "D", "2,40");
+
+        // Act
+        List<Transaction> written = importAndCaptureRows(csv, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(3, written.size());
+        assertEquals(3, written.stream().map(Transaction::getFingerprint).distinct().count());
+        assertEquals(written.get(0).getFingerprint() + "-2", written.get(1).getFingerprint());
+    }
+
+    @Test
+    void importCsv_WhenRowsAlreadyImported_ShouldSkipThemWithOneCheckPerBatch() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(100);
+        when(transactionBatchWriter.findExistingFingerprints(eq(1L), any()))
+                .thenAnswer(invocation -> new HashSet<>(invocation.<List<String>>getArgument(1)));
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, Integer.MAX_VALUE, StandardCharsets.UTF_8);
+        String csv = HEADER
+                + row("03.02.2025", "Rimi", "D", "2,40")
+                + row("04.02.2025", "Rimi", "D", "5,10");
+
+        // Act
+        ImportReport report = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 1L);
+
+        // Assert
+        assertEquals(2, report.getRowsProcessed());
+        assertEquals(2, report.getRowsSkipped());
+        assertEquals(Map.of(ImportSkipReason.DUPLICATE, 2L), report.getSkippedByReason());
+        verify(transactionBatchWriter, times(1)).findExistingFingerprints(eq(1L), any());
+        verify(transactionBatchWriter, never()).insertAll(any());
+        verify(categoryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importCsv_WhenConcurrentImportWroteRowFirst_ShouldOnlyCountInsertedRows() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(100);
+        when(transactionBatchWriter.insertAll(any())).thenAnswer(invocation -> invocation.<List<Transaction>>getArgument(0).subList(0, 1));
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, Integer.MAX_VALUE, StandardCharsets.UTF_8);
+        String csv = HEADER
+                + row("03.02.2025", "Rimi", "D", "2,40")
+                + row("04.02.2025", "Rimi", "D", "5,10");
+
+        // Act
+        ImportReport report = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 1L);
+
+        // Assert
+        assertEquals(1, report.getRowsImported());
+        assertEquals(Map.of(ImportSkipReason.DUPLICATE, 1L), report.getSkippedByReason());
+        ArgumentCaptor<MonthlyRollupDeltas> deltas = ArgumentCaptor.forClass(MonthlyRollupDeltas.class);
+        verify(monthlyRollupService).apply(deltas.capture());
+        deltas.getValue().remove(Transaction.builder()
+                .userId(1L)
+                .transactionType(TransactionType.EXPENSE)
+                .amount(new BigDecimal("-2.40"))
+                .transactionDate(LocalDate.of(2025, 2, 3))
+                .category(groceries)
+                .build());
+        assertTrue(deltas.getValue().isEmpty());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TransactionsChangedEvent changed
+                && changed.added().size() == 1));
+    }
+
+    @Test
+    void importCsv_ShouldReportSkippedRowsByReasonWithLineNumbers() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(2);
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, Integer.MAX_VALUE, StandardCharsets.UTF_8);
+        String csv = HEADER
+                + row("03.02.2025", "Rimi", "D", "2,40")
+                + "too;short\n"
+                + row("31.02.2025", "Rimi", "D", "1,00")
+                + row("05.02.2025", "Rimi", "D", "abc");
+
+        // Act
+        ImportReport report = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 1L);
+
+        // Assert
+        assertEquals(4, report.getRowsProcessed());
+        assertEquals(1, report.getRowsImported());
+        assertEquals(Map.of(
+                ImportSkipReason.MALFORMED_ROW, 1L,
+                ImportSkipReason.INVALID_DATE, 1L,
+                ImportSkipReason.INVALID_AMOUNT, 1L), report.getSkippedByReason());
+        assertEquals(List.of(3L, 4L, 5L), report.getSamples().stream().map(ImportRowIssueDTO::lineNumber).toList());
+    }
+
+    @Test
+    void importCsv_ShouldDetectCamtStatementAndImportEntries() throws Exception {
+        // Arrange
+        when(transactionBatchWriter.getBatchSize()).thenReturn(100);
+        TransactionImportService importService = new TransactionImportService(
+                categoryRepository, groupingRulesService, transactionBatchWriter, pool, detector, monthlyRollupService, eventPublisher, 64, Integer.MAX_VALUE, StandardCharsets.UTF_8);
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+                  <BkToCstmrStmt><Stmt>
+                    <Ntry>
+                      <Amt Ccy="EUR">12.50</Amt>
+                      <CdtDbtInd>DBIT</CdtDbtInd>
+                      <BookgDt><Dt>2025-02-01</Dt></BookgDt>
+                      <NtryDtls><TxDtls>
+                        <RltdPties><Cdtr><Nm>RIMI EESTI</Nm></Cdtr></RltdPties>
+                        <RmtInf><Ustrd>kaardimakse</Ustrd></RmtInf>
+                      </TxDtls></NtryDtls>
+                    </Ntry>
+                  </Stmt></BkToCstmrStmt>
+                </Document>
+                """;
+
+        // Act
+        ImportReport report = importService.importCsv(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), 1L);
+
+        // Assert
+        assertEquals("CAMT_XML", report.getFormat());
+        assertEquals(1, report.getRowsImported());
+        verify(transactionBatchWriter).insertAll(argThat(rows -> rows.size() == 1
+                && rows.get(0).getAmount().compareTo(new BigDecimal("-12.50")) == 0
+                && rows.get(0).getTransactionDate().equals(LocalDate.of(2025, 2, 1))
+                && rows.get(0).getCategory() == groceries));
+    }
+}
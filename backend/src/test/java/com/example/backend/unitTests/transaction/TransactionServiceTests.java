@@ -1,9 +1,12 @@
 package com.example.backend.unitTests.transaction;
 
+import com.example.backend.auth.AdminTokenVerifier;
 import com.example.backend.auth.SecurityUtils;
 import com.example.backend.category.Category;
 import com.example.backend.category.CategoryRepository;
-import com.example.backend.groupingrules.GroupingRulesRepository;
+import com.example.backend.groupingrules.GroupingRules;
+import com.example.backend.groupingrules.GroupingRulesMatcher;
+import com.example.backend.groupingrules.GroupingRulesService;
 import com.example.backend.transaction.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +14,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -33,7 +40,25 @@ public class TransactionServiceTests {
     private SecurityUtils securityUtils;
 
     @Mock
-    private GroupingRulesRepository groupingRulesRepository;
+    private GroupingRulesService groupingRulesService;
+
+    @Mock
+    private ImportJobService importJobService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private RollupVerificationService rollupVerificationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AdminTokenVerifier adminTokenVerifier;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -85,6 +110,59 @@ public class TransactionServiceTests {
         verify(transactionRepository).save(any(Transaction.class));
     }
 
+    @Test
+    void addTransaction_WithoutCategoryNameOrMatchingRule_ShouldSaveUncategorized() {
+        // Arrange
+        TransactionDTO uncategorized = new TransactionDTO(
+                null,
+                null,
+                new BigDecimal("-100.00"),
+                LocalDate.now(),
+                null,
+                "Unknown shop"
+        );
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(groupingRulesService.getMatcher(1L)).thenReturn(new GroupingRulesMatcher(List.of()));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionDTO result = transactionService.addTransaction(uncategorized);
+
+        // Assert
+        assertNull(result.categoryName());
+        verify(transactionRepository).save(argThat(transaction -> transaction.getCategory() == null));
+        verify(categoryRepository, never()).findByName(any());
+    }
+
+    @Test
+    void addTransaction_WithoutCategoryName_ShouldUseMatchingGroupingRule() {
+        // Arrange
+        GroupingRulesMatcher matcher = new GroupingRulesMatcher(List.of(GroupingRules.builder()
+                .id(1L)
+                .criterion("test")
+                .category(testCategory)
+                .isActive(true)
+                .build()));
+        TransactionDTO uncategorized = new TransactionDTO(
+                null,
+                null,
+                new BigDecimal("-100.00"),
+                LocalDate.now(),
+                null,
+                "Test Transaction"
+        );
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(groupingRulesService.getMatcher(1L)).thenReturn(matcher);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        // Act
+        TransactionDTO result = transactionService.addTransaction(uncategorized);
+
+        // Assert
+        assertEquals("Test Category", result.categoryName());
+        verify(categoryRepository, never()).findByName(any());
+    }
+
     @Test
     void deleteTransaction_ShouldCallRepositoryDelete() {
         // Act
@@ -116,13 +194,14 @@ public class TransactionServiceTests {
         verify(transactionRepository).save(testTransaction);
         assertEquals("Updated Description", testTransaction.getDescription());
         assertEquals(new BigDecimal("200.00"), testTransaction.getAmount());
+        verify(monthlyRollupService).apply(any(MonthlyRollupDeltas.class));
     }
 
     @Test
     void getAllUserTransactions_ShouldReturnListOfTransactionDTOs() {
         // Arrange
         when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
-        when(transactionRepository.findAll()).thenReturn(List.of(testTransaction));
+        when(transactionRepository.findByUserId(1L)).thenReturn(List.of(testTransaction));
 
         // Act
         List<TransactionDTO> result = transactionService.getAllUserTransactions();
@@ -136,7 +215,7 @@ public class TransactionServiceTests {
     void getAllUserExpenses_ShouldReturnListOfExpenseTransactionDTOs() {
         // Arrange
         when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
-        when(transactionRepository.findAll()).thenReturn(List.of(testTransaction));
+        when(transactionRepository.findByUserIdAndTransactionType(1L, TransactionType.EXPENSE)).thenReturn(List.of(testTransaction));
 
         // Act
         List<TransactionDTO> result = transactionService.getAllUserExpenses();
@@ -160,7 +239,7 @@ public class TransactionServiceTests {
                 .build();
 
         when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
-        when(transactionRepository.findAll()).thenReturn(List.of(incomeTransaction));
+        when(transactionRepository.findByUserIdAndTransactionType(1L, TransactionType.INCOME)).thenReturn(List.of(incomeTransaction));
 
         // Act
         List<TransactionDTO> result = transactionService.getAllUserIncomes();
@@ -169,4 +248,119 @@ public class TransactionServiceTests {
         assertEquals(1, result.size());
         assertEquals(TransactionType.INCOME, result.get(0).transactionType());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllUserMonthlySummary_WithMonthAlignedRange_ShouldReadRollup() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(monthlyRollupService.getMonthlySummary(1L, from, to)).thenReturn(List.of());
+
+        // Act
+        transactionService.getAllUserMonthlySummary(from, to);
+
+        // Assert
+        verify(monthlyRollupService).getMonthlySummary(1L, from, to);
+        verify(transactionRepository, never()).sumMonthlySummary(any(), any(), any());
+    }
+
+    @Test
+    void getAllUserMonthlySummary_WithPartialMonth_ShouldQueryOnlyThatWindow() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 15);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(transactionRepository.sumMonthlySummary(1L, from, to)).thenReturn(List.of());
+
+        // Act
+        transactionService.getAllUserMonthlySummary(from, to);
+
+        // Assert
+        verify(transactionRepository).sumMonthlySummary(1L, from, to);
+        verifyNoInteractions(monthlyRollupService);
+    }
+
+    @Test
+    void getAllUserMonthlySummary_ShouldReturnAggregatedRows() {
+        // Arrange
+        List<MonthlySummaryDTO> summary = List.of(
+                new MonthlySummaryDTO(2024, 5, new BigDecimal("2950.00"), new BigDecimal("-1600.00")),
+                new MonthlySummaryDTO(2025, 5, new BigDecimal("3000.00"), new BigDecimal("-1500.00"))
+        );
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(monthlyRollupService.getMonthlySummary(eq(1L), any(LocalDate.class), any(LocalDate.class))).thenReturn(summary);
+
+        // Act
+        List<MonthlySummaryDTO> result = transactionService.getAllUserMonthlySummary(null, null);
+
+        // Assert
+        assertEquals(summary, result);
+        verify(transactionRepository, never()).findAll();
+    }
+
+    @Test
+    void getUserTransactionsPage_ShouldReturnNextCursorWhenMoreRowsExist() {
+        // Arrange
+        Transaction olderTransaction = Transaction.builder()
+                .id(2L)
+                .userId(1L)
+                .transactionType(TransactionType.EXPENSE)
+                .amount(new BigDecimal("20.00"))
+                .transactionDate(LocalDate.of(2025, 1, 1))
+                .category(testCategory)
+                .description("Older Transaction")
+                .build();
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(transactionRepository.findPageByUserId(eq(1L), any())).thenReturn(List.of(testTransaction, olderTransaction));
+
+        // Act
+        TransactionPageDTO result = transactionService.getUserTransactionsPage(null, 1);
+
+        // Assert
+        assertEquals(1, result.transactions().size());
+        assertEquals(TransactionCursor.of(testTransaction), TransactionCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void getUserTransactionsPage_ShouldContinueAfterCursor() {
+        // Arrange
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2025, 2, 1), 10L);
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        when(transactionRepository.findPageByUserIdAfter(eq(1L), eq(cursor.transactionDate()), eq(cursor.id()), any()))
+                .thenReturn(List.of(testTransaction));
+
+        // Act
+        TransactionPageDTO result = transactionService.getUserTransactionsPage(cursor.encode(), 10);
+
+        // Assert
+        assertEquals(1, result.transactions().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void exportTransactions_ShouldStreamTransactionsOfAuthenticatedUser() throws Exception {
+        // Arrange
+        when(securityUtils.getAuthenticatedUserId()).thenReturn(1L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        transactionService.exportTransactions(ExportFormat.NDJSON).writeTo(output);
+
+        // Assert
+        verify(transactionExportService).export(1L, ExportFormat.NDJSON, output);
+    }
+
+    @Test
+    void getImportStats_WithoutAdminToken_ShouldBeForbidden() {
+        // Arrange
+        doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin token required"))
+                .when(adminTokenVerifier).check(null);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> transactionService.getImportStats(null));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(importJobService);
+    }
+}
@@ -5,6 +5,24 @@ interface CategoryData {
     amount: number;
 }
 
+interface CategoryProgress {
+    categoryId: number;
+    categoryName: string;
+    spent: number | string;
+}
+
+interface BudgetProgress {
+    budgetId: number;
+    totalSpent: number | string;
+    categories: CategoryProgress[];
+}
+
+const toAmount = (value: number | string): number =>
+    typeof value === "number" ? value : parseFloat(value);
+
+// Subscribes to the budget's progress stream: a "snapshot" event with every category, then
+// "progress" events with only the categories that changed. EventSource reconnects on its own
+// and every reconnect starts with a fresh snapshot.
 export const useSpentByCategory = (budgetId: number | null, alwaysFetch: boolean = false) => {
     const [data, setData] = useState<CategoryData[] | null>(null);
     const [loading, setLoading] = useState<boolean>(false);
@@ -18,39 +36,44 @@ export const useSpentByCategory = (budgetId: number | null, alwaysFetch: boolean
             return;
         }
 
-        const fetchSpentByCategory = async () => {
-            try {
-                setLoading(true);
-                const response = await fetch(`${process.env.NEXT_PUBLIC_API_URL}/budget/${budgetId}/spent-by-category`, {
-                    method: "GET",
-                    credentials: "include", // Include cookies if needed
-                });
+        setLoading(true);
+        const byCategory = new Map<number, CategoryData>();
+        const publish = () => setData(Array.from(byCategory.values()));
 
-                if (!response.ok) {
-                    throw new Error(`Error: ${response.statusText}`);
-                }
+        const source = new EventSource(`${process.env.NEXT_PUBLIC_API_URL}/budget/${budgetId}/progress/stream`, {
+            withCredentials: true,
+        });
 
+        source.addEventListener("snapshot", (event) => {
+            const progress = JSON.parse((event as MessageEvent).data) as BudgetProgress;
+            byCategory.clear();
+            progress.categories.forEach((category) => byCategory.set(category.categoryId, {
+                categoryName: category.categoryName,
+                amount: toAmount(category.spent),
+            }));
+            publish();
+            setError(null);
+            setLoading(false);
+        });
 
-                const result = await response.json() as Record<string, unknown>;
-
-
-                const transformedData: CategoryData[] = Object.entries(result).map(([categoryName, amount]) => ({
-                    categoryName,
-
-                    amount: typeof amount === 'number' ? amount :
-                        typeof amount === 'string' ? parseFloat(amount) : 0,
-                }));
+        source.addEventListener("progress", (event) => {
+            const progress = JSON.parse((event as MessageEvent).data) as BudgetProgress;
+            progress.categories.forEach((category) => byCategory.set(category.categoryId, {
+                categoryName: category.categoryName,
+                amount: toAmount(category.spent),
+            }));
+            publish();
+        });
 
-                setData(transformedData);
-            } catch (err: any) {
-                setError(err.message);
-            } finally {
+        source.onerror = () => {
+            if (source.readyState === EventSource.CLOSED) {
+                setError("Budget progress stream closed");
                 setLoading(false);
             }
         };
 
-        fetchSpentByCategory();
+        return () => source.close();
     }, [budgetId, alwaysFetch]);
 
     return { data, loading, error };
-};
\ No newline at end of file
+};
@@ -1,14 +1,40 @@
 import { useState } from "react";
 
+interface ImportJob {
+    jobId: string;
+    status: "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED";
+    rowsProcessed: number;
+    rowsSkipped: number;
+    rowsPerSecond: number;
+    error: string | null;
+}
+
+const POLL_INTERVAL_MS = 1000;
+
 export const useImportTransactions = () => {
     const [loading, setLoading] = useState<boolean>(false);
     const [error, setError] = useState<string | null>(null);
     const [successMessage, setSuccessMessage] = useState<string | null>(null);
+    const [progress, setProgress] = useState<ImportJob | null>(null);
+
+    const fetchJob = async (jobId: string): Promise<ImportJob> => {
+        const response = await fetch(`${process.env.NEXT_PUBLIC_API_URL}/transaction/import/${jobId}`, {
+            method: "GET",
+            credentials: "include",
+        });
+
+        if (!response.ok) {
+            throw new Error("Failed to fetch import status");
+        }
+
+        return response.json();
+    };
 
     const importTransactions = async (file: File): Promise<void> => {
         setLoading(true);
         setError(null);
         setSuccessMessage(null);
+        setProgress(null);
 
         const formData = new FormData();
         formData.append("file", file);
@@ -26,8 +52,21 @@ export const useImportTransactions = () => {
                 throw new Error(errorData || "Failed to import transactions");
             }
 
-            const successData = await response.text();
-            setSuccessMessage(successData);
+            // The import runs in the background; poll until it has finished.
+            let job: ImportJob = await response.json();
+            while (job.status === "QUEUED" || job.status === "RUNNING") {
+                setProgress(job);
+                await new Promise((resolve) => setTimeout(resolve, POLL_INTERVAL_MS));
+                job = await fetchJob(job.jobId);
+            }
+            setProgress(job);
+
+            if (job.status === "FAILED") {
+                throw new Error(`Failed to import transactions: ${job.error ?? "unknown error"}`);
+            }
+
+            const imported = job.rowsProcessed - job.rowsSkipped;
+            setSuccessMessage(`Transactions imported successfully (${imported} imported, ${job.rowsSkipped} skipped)`);
         } catch (err: any) {
             setError(err.message || "An unknown error occurred");
         } finally {
@@ -35,5 +74,5 @@ export const useImportTransactions = () => {
         }
     };
 
-    return { importTransactions, loading, error, successMessage };
-};
\ No newline at end of file
+    return { importTransactions, loading, error, successMessage, progress };
+};
@@ -1,6 +1,7 @@
 import {useEffect, useState} from 'react';
 
 export interface MonthlySummary {
+    year: number;
     month: number;
     totalIncome: number;
     totalExpense: number;